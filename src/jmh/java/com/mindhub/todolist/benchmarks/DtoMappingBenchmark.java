@@ -0,0 +1,78 @@
+package com.mindhub.todolist.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.UsuarioDto;
+import com.mindhub.todolist.models.Task;
+import com.mindhub.todolist.models.Usuario;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping and Jackson serialization of list responses, without the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private List<Task> tasks;
+
+    private List<Usuario> usuarios;
+
+    private List<TaskDto> taskDtos;
+
+    private List<UsuarioDto> usuarioDtos;
+
+    private ObjectWriter taskListWriter;
+
+    private ObjectWriter usuarioListWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TaskStatus[] statuses = TaskStatus.values();
+        tasks = new ArrayList<>(size);
+        usuarios = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(new Task("task " + i, "description of task " + i, statuses[i % statuses.length]));
+            usuarios.add(new Usuario("user-" + i, "secret", "user-" + i + "@mail.com"));
+        }
+        taskDtos = mapTasks();
+        usuarioDtos = mapUsuarios();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        taskListWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TaskDto.class));
+        usuarioListWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, UsuarioDto.class));
+    }
+
+    @Benchmark
+    public List<TaskDto> mapTasks() {
+        return tasks.stream().map(TaskDto::new).toList();
+    }
+
+    @Benchmark
+    public List<UsuarioDto> mapUsuarios() {
+        return usuarios.stream().map(UsuarioDto::new).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeTasks() throws Exception {
+        return taskListWriter.writeValueAsBytes(taskDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeUsuarios() throws Exception {
+        return usuarioListWriter.writeValueAsBytes(usuarioDtos);
+    }
+}
@@ -0,0 +1,69 @@
+package com.mindhub.todolist.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost of a task list response per wire format, with and without gzip.
+ * The size of one response is printed at the start of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    private List<TaskDto> taskDtos;
+
+    private ObjectWriter taskListWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        TaskStatus[] statuses = TaskStatus.values();
+        taskDtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            taskDtos.add(new TaskDto((long) i + 1, "task " + i, "description of task " + i, statuses[i % statuses.length]));
+        }
+
+        ObjectMapper objectMapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> new ObjectMapper();
+        };
+        taskListWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TaskDto.class));
+        System.out.printf("payload size, %s/%s, %d tasks: %d bytes%n", format, compression, size, serializeTasks().length);
+    }
+
+    @Benchmark
+    public byte[] serializeTasks() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        try (OutputStream out = compression.equals("gzip") ? new GZIPOutputStream(bytes, 8192) : bytes) {
+            taskListWriter.writeValue(out, taskDtos);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,104 @@
+package com.mindhub.todolist.benchmarks;
+
+import com.mindhub.todolist.config.DurabilityConfig;
+import com.mindhub.todolist.config.WalRecovery;
+import com.mindhub.todolist.dtos.RecoveryDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.services.DurabilityService;
+import com.mindhub.todolist.services.TaskService;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup recovery of the durable profile: a run writes its log (and optionally a snapshot followed by a tail of
+ * further writes), then every invocation replays it into a fresh in-memory database with the same schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RecoveryBenchmark {
+
+    @Param({"false", "true"})
+    private boolean snapshot;
+
+    @Param({"1000"})
+    private int users;
+
+    @Param({"20"})
+    private int tasksPerUser;
+
+    // Writes made after the snapshot, as a share of the seeded tasks.
+    @Param({"10"})
+    private int tailPercent;
+
+    private Path dir;
+
+    private List<String> schema;
+
+    private int invocation;
+
+    private DataSource target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("recovery-bench");
+        // A system property, as application-durable.properties takes precedence over the ones SeededContext sets.
+        System.setProperty("todolist.wal.dir", dir.toString());
+        SeededContext seededContext = new SeededContext("recovery-bench-" + snapshot, users, tasksPerUser,
+                "spring.profiles.active=durable");
+        if (snapshot) {
+            seededContext.getBean(DurabilityService.class).snapshot();
+            List<Long> usuarioIds = seededContext.getUsuarioIds();
+            List<TaskInputDto> tail = new ArrayList<>();
+            for (int i = 0; i < usuarioIds.size() * tasksPerUser * tailPercent / 100; i++) {
+                tail.add(new TaskInputDto("tail " + i, "written after the snapshot", TaskStatus.PENDING,
+                        usuarioIds.get(i % usuarioIds.size())));
+            }
+            seededContext.getBean(TaskService.class).createTasks(tail);
+        }
+        schema = seededContext.getBean(JdbcTemplate.class).queryForList("script nodata", String.class).stream()
+                .filter(statement -> !statement.startsWith("--") && !statement.startsWith("CREATE FORCE TRIGGER"))
+                .toList();
+        seededContext.close();
+        System.clearProperty("todolist.wal.dir");
+    }
+
+    @Setup(Level.Invocation)
+    public void createTarget() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:recovery-bench-target-" + invocation++ + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        schema.forEach(jdbcTemplate::execute);
+        target = dataSource;
+    }
+
+    @TearDown(Level.Invocation)
+    public void dropTarget() {
+        new JdbcTemplate(target).execute("shutdown");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public RecoveryDto recover() throws IOException, SQLException {
+        return new WalRecovery(target, dir, DurabilityConfig.LOGGED_TABLES).recover();
+    }
+}
@@ -0,0 +1,80 @@
+package com.mindhub.todolist.benchmarks;
+
+import com.mindhub.todolist.TodolistApplication;
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.services.TaskService;
+import com.mindhub.todolist.services.UsuarioService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application without a web server against its own in-memory H2 database
+ * and seeds it through the bulk service paths.
+ */
+final class SeededContext {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final ConfigurableApplicationContext context;
+
+    private final List<Long> usuarioIds = new ArrayList<>();
+
+    private final List<Long> taskIds = new ArrayList<>();
+
+    SeededContext(String databaseName, int users, int tasksPerUser, String... properties) {
+        context = new SpringApplicationBuilder(TodolistApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+
+        List<NewUsuarioDto> newUsuarios = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            newUsuarios.add(new NewUsuarioDto("bench-user-" + i, "bench-user-" + i + "@mail.com"));
+        }
+        collectIds(getBean(UsuarioService.class).createUsuarios(newUsuarios), usuarioIds);
+
+        List<TaskInputDto> newTasks = new ArrayList<>(users * tasksPerUser);
+        for (Long usuarioId : usuarioIds) {
+            for (int i = 0; i < tasksPerUser; i++) {
+                newTasks.add(new TaskInputDto("task " + i, "description of task " + i + " for user " + usuarioId,
+                        STATUSES[i % STATUSES.length], usuarioId));
+            }
+        }
+        collectIds(getBean(TaskService.class).createTasks(newTasks), taskIds);
+    }
+
+    private static void collectIds(List<BulkResultDto> results, List<Long> ids) {
+        for (BulkResultDto result : results) {
+            if (result.getId() != null) {
+                ids.add(result.getId());
+            }
+        }
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    List<Long> getUsuarioIds() {
+        return usuarioIds;
+    }
+
+    List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,68 @@
+package com.mindhub.todolist.benchmarks;
+
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.services.TaskService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk task inserts spread over all users, with the sharded profile on 1, 2 and 4 in-memory databases.
+ * Run it with several threads (-t) to see the writes fan out instead of queueing on one database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShardWriteBenchmark {
+
+    @Param({"1", "2", "4"})
+    private int shards;
+
+    @Param({"100"})
+    private int users;
+
+    @Param({"100"})
+    private int batchSize;
+
+    private SeededContext seededContext;
+
+    private TaskService taskService;
+
+    private List<TaskInputDto> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringJoiner urls = new StringJoiner(",");
+        for (int shard = 0; shard < shards; shard++) {
+            urls.add("jdbc:h2:mem:shard-write-bench-" + shards + "-" + shard);
+        }
+        seededContext = new SeededContext("shard-write-bench", users, 0,
+                "spring.profiles.active=sharded", "todolist.sharding.urls=" + urls);
+        taskService = seededContext.getBean(TaskService.class);
+
+        List<Long> usuarioIds = seededContext.getUsuarioIds();
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(new TaskInputDto("bench " + i, "created by benchmark", TaskStatus.PENDING,
+                    usuarioIds.get(i % usuarioIds.size())));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        seededContext.close();
+    }
+
+    @Benchmark
+    public List<BulkResultDto> createTasks() {
+        return taskService.createTasks(batch);
+    }
+}
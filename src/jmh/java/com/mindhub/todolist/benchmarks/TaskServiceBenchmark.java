@@ -0,0 +1,79 @@
+package com.mindhub.todolist.benchmarks;
+
+import com.mindhub.todolist.dtos.CursorPageDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.services.TaskService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    @Param({"100"})
+    private int users;
+
+    @Param({"100"})
+    private int tasksPerUser;
+
+    private SeededContext seededContext;
+
+    private TaskService taskService;
+
+    private List<Long> taskIds;
+
+    private Long usuarioId;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        seededContext = new SeededContext("task-service-bench", users, tasksPerUser);
+        taskService = seededContext.getBean(TaskService.class);
+        taskIds = seededContext.getTaskIds();
+        usuarioId = seededContext.getUsuarioIds().get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        seededContext.close();
+    }
+
+    @Benchmark
+    public List<TaskDto> getAllTasks() {
+        return taskService.getAllTasks();
+    }
+
+    @Benchmark
+    public CursorPageDto<TaskDto> getTasksPage() {
+        return taskService.getTasksPage(null, 100);
+    }
+
+    @Benchmark
+    public TaskDto getTaskById() {
+        return taskService.getTaskById(taskIds.get(next++ % taskIds.size()));
+    }
+
+    @Benchmark
+    public List<TaskDto> getFindByTaskStatus() {
+        return taskService.getFindByTaskStatus(TaskStatus.PENDING);
+    }
+
+    @Benchmark
+    public Long getCountByUsuarioId() {
+        return taskService.getCountByUsuarioId(usuarioId);
+    }
+
+    @Benchmark
+    public TaskDto createTask() {
+        return taskService.createTask(new TaskInputDto("bench", "created by benchmark", TaskStatus.PENDING, usuarioId));
+    }
+}
@@ -0,0 +1,71 @@
+package com.mindhub.todolist.benchmarks;
+
+import com.mindhub.todolist.dtos.CursorPageDto;
+import com.mindhub.todolist.dtos.UsuarioDto;
+import com.mindhub.todolist.services.UsuarioService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UsuarioServiceBenchmark {
+
+    @Param({"1000"})
+    private int users;
+
+    private SeededContext seededContext;
+
+    private UsuarioService usuarioService;
+
+    private List<Long> usuarioIds;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        seededContext = new SeededContext("usuario-service-bench", users, 0);
+        usuarioService = seededContext.getBean(UsuarioService.class);
+        usuarioIds = seededContext.getUsuarioIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        seededContext.close();
+    }
+
+    @Benchmark
+    public List<UsuarioDto> getAllUsuarios() {
+        return usuarioService.getAllUsuarios();
+    }
+
+    @Benchmark
+    public CursorPageDto<UsuarioDto> getUsuariosPage() {
+        return usuarioService.getUsuariosPage(null, 100);
+    }
+
+    @Benchmark
+    public UsuarioDto getUsuarioById() {
+        return usuarioService.getUsuarioById(usuarioIds.get(next++ % usuarioIds.size()));
+    }
+
+    @Benchmark
+    public UsuarioDto getUsuarioByEmail() {
+        return usuarioService.getUsuarioByEmail("bench-user-" + (next++ % users) + "@mail.com");
+    }
+
+    @Benchmark
+    public boolean getExistByUsername() {
+        return usuarioService.getExistByUsername("bench-user-" + (next++ % users));
+    }
+
+    @Benchmark
+    public Long getCountByEmail() {
+        return usuarioService.getCountByEmail("bench-user-" + (next++ % users) + "@mail.com");
+    }
+}
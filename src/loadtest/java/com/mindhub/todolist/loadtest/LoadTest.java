@@ -0,0 +1,464 @@
+package com.mindhub.todolist.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindhub.todolist.TodolistApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Starts the application on a random port, seeds it over the bulk endpoints and drives every
+ * task and user route with a weighted request mix. Prints throughput and latency percentiles per
+ * route, writes report.json plus one HDR percentile distribution (.hgrm) per route, and exits
+ * with status 1 when a route misses its SLO.
+ */
+public final class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final int SEED_BATCH_SIZE = 5000;
+
+    private final LoadTestConfig config;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final List<Long> usuarioIds = new ArrayList<>();
+
+    private final List<Long> taskIds = new ArrayList<>();
+
+    private final ConcurrentLinkedQueue<Long> createdTaskIds = new ConcurrentLinkedQueue<>();
+
+    private final ConcurrentLinkedQueue<Long> createdUsuarioIds = new ConcurrentLinkedQueue<>();
+
+    private final ConcurrentLinkedQueue<String> createdEmails = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger completedBatches = new AtomicInteger();
+
+    // Alternates created users between the two delete routes; sequence is shared with every other create.
+    private final AtomicLong createdUsuarios = new AtomicLong();
+
+    private final AtomicReference<String> taskCursor = new AtomicReference<>();
+
+    private final AtomicReference<String> usuarioCursor = new AtomicReference<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private URI baseUri;
+
+    private double totalThroughput;
+
+    private final AtomicLong peakHeapBytesSampled = new AtomicLong();
+
+    private long peakHeapBytes;
+
+    private int peakThreads;
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig(args);
+        Path outputDir = Path.of(config.getString("outputDir", "target/loadtest"));
+
+        // compareProfiles=default,virtual-threads runs the same workload once per profile and compares the results.
+        String compareProfiles = config.getString("compareProfiles", "");
+        if (compareProfiles.isBlank()) {
+            LoadTest loadTest = new LoadTest(config);
+            System.exit(loadTest.runAgainst(config.getString("profiles", ""), outputDir) ? 0 : 1);
+        }
+
+        boolean passed = true;
+        Map<String, LoadTest> runsByProfile = new LinkedHashMap<>();
+        for (String profile : compareProfiles.split(",")) {
+            LoadTest loadTest = new LoadTest(config);
+            passed &= loadTest.runAgainst(profile.trim(), outputDir.resolve(profile.trim()));
+            runsByProfile.put(profile.trim(), loadTest);
+        }
+        System.out.printf("%n%-22s %12s %14s %13s%n", "profile", "total req/s", "peak heap MB", "peak threads");
+        runsByProfile.forEach((profile, run) -> System.out.printf("%-22s %12.1f %14.1f %13d%n",
+                profile, run.totalThroughput, run.peakHeapBytes / 1048576.0, run.peakThreads));
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean runAgainst(String profiles, Path outputDir) throws Exception {
+        String databaseName = "loadtest-" + System.nanoTime();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TodolistApplication.class)
+                .profiles(profiles.isBlank() || profiles.equals("default") ? new String[0] : profiles.split("\\+"))
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName,
+                        "spring.r2dbc.url=r2dbc:h2:mem:///" + databaseName,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        try {
+            baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            System.out.printf("%nLoad test against profile '%s'%n", profiles.isBlank() ? "default" : profiles);
+            return run(outputDir);
+        } finally {
+            context.close();
+        }
+    }
+
+    private boolean run(Path outputDir) throws Exception {
+        seed(config.getInt("users", 200), config.getInt("tasksPerUser", 50));
+        List<Route> routes = buildRoutes();
+
+        int concurrency = config.getInt("concurrency", 32);
+        runPhase(routes, concurrency, config.getInt("warmupSeconds", 5));
+        routes.forEach(route -> route.getStats().reset());
+        // Heap and live threads are sampled while the measured phase runs, to compare the cost per connection.
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeapBytesSampled.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 100, TimeUnit.MILLISECONDS);
+        long started = System.nanoTime();
+        try {
+            runPhase(routes, concurrency, config.getInt("durationSeconds", 30));
+        } finally {
+            sampler.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        peakHeapBytes = peakHeapBytesSampled.get();
+        peakThreads = threads.getPeakThreadCount();
+
+        return report(routes, elapsedSeconds, outputDir);
+    }
+
+    private void seed(int users, int tasksPerUser) throws Exception {
+        List<Map<String, Object>> newUsuarios = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            newUsuarios.add(Map.of("username", "seed-user-" + i, "email", "seed-user-" + i + "@mail.com"));
+        }
+        seedBatches("/api/user/bulk", newUsuarios, usuarioIds);
+
+        List<Map<String, Object>> newTasks = new ArrayList<>(users * tasksPerUser);
+        for (Long usuarioId : usuarioIds) {
+            for (int i = 0; i < tasksPerUser; i++) {
+                newTasks.add(Map.of("title", "seed-task-" + i, "description", "seeded task " + i + " of user " + usuarioId,
+                        "tasksStatus", i % 2 == 0 ? "PENDING" : "IN_PROGRESS", "usuarioId", usuarioId));
+            }
+        }
+        seedBatches("/api/tasks/bulk", newTasks, taskIds);
+    }
+
+    private void seedBatches(String path, List<Map<String, Object>> rows, List<Long> ids) throws Exception {
+        for (int from = 0; from < rows.size(); from += SEED_BATCH_SIZE) {
+            List<Map<String, Object>> batch = rows.subList(from, Math.min(from + SEED_BATCH_SIZE, rows.size()));
+            HttpResponse<String> response = client.send(post(path, batch), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding " + path + " failed: " + response.statusCode() + " " + response.body());
+            }
+            for (JsonNode result : MAPPER.readTree(response.body())) {
+                if (result.hasNonNull("id")) {
+                    ids.add(result.get("id").asLong());
+                }
+            }
+        }
+    }
+
+    private List<Route> buildRoutes() {
+        List<Route> routes = new ArrayList<>();
+
+        route(routes, "tasks.list", () -> get("/api/tasks"));
+        route(routes, "tasks.page", () -> get("/api/tasks?limit=50" + cursorParam(taskCursor)),
+                body -> taskCursor.set(readText(body, "nextCursor")));
+        route(routes, "tasks.export", () -> get("/api/tasks/export"));
+        route(routes, "tasks.byId", () -> get("/api/tasks/" + pick(taskIds)));
+        route(routes, "tasks.create", () -> post("/api/tasks", newTask("PENDING")),
+                body -> createdTaskIds.add(readId(body)));
+        route(routes, "tasks.bulkCreate", () -> {
+            List<Map<String, Object>> batch = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                batch.add(newTask("COMPLETED"));
+            }
+            return post("/api/tasks/bulk", batch);
+        }, body -> completedBatches.incrementAndGet());
+        route(routes, "tasks.update", () -> put("/api/tasks/" + pick(taskIds), newTask("IN_PROGRESS")));
+        route(routes, "tasks.delete", () -> {
+            Long id = createdTaskIds.poll();
+            return id == null ? null : delete("/api/tasks/" + id);
+        });
+        route(routes, "tasks.byStatus", () -> get("/api/tasks/by-status/PENDING"));
+        route(routes, "tasks.existsByTitle", () -> get("/api/tasks/by-title/seed-task-" + random().nextInt(100)));
+        route(routes, "tasks.countByUser", () -> get("/api/tasks/count/" + pick(usuarioIds)));
+        route(routes, "tasks.filterByTitle", () -> get("/api/tasks/filter/seed-task-" + random().nextInt(100)));
+        // Only fires after a bulk create has produced COMPLETED tasks, so it always has something to delete.
+        route(routes, "tasks.deleteByStatus",
+                () -> completedBatches.getAndSet(0) > 0 ? delete("/api/tasks/delete/COMPLETED") : null);
+
+        route(routes, "users.list", () -> get("/api/user"));
+        route(routes, "users.page", () -> get("/api/user?limit=50" + cursorParam(usuarioCursor)),
+                body -> usuarioCursor.set(readText(body, "nextCursor")));
+        route(routes, "users.byId", () -> get("/api/user/" + pick(usuarioIds)));
+        route(routes, "users.create", () -> {
+            long n = sequence.incrementAndGet();
+            return post("/api/user", Map.of("username", "load-user-" + n, "email", "load-user-" + n + "@mail.com"));
+        }, body -> {
+            if (createdUsuarios.incrementAndGet() % 2 == 0) {
+                createdUsuarioIds.add(readId(body));
+            } else {
+                createdEmails.add(readText(body, "email"));
+            }
+        });
+        route(routes, "users.bulkCreate", () -> {
+            List<Map<String, Object>> batch = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                long n = sequence.incrementAndGet();
+                batch.add(Map.of("username", "load-user-" + n, "email", "load-user-" + n + "@mail.com"));
+            }
+            return post("/api/user/bulk", batch);
+        });
+        route(routes, "users.update", () -> {
+            int i = usuarioIndex();
+            return put("/api/user/" + usuarioIds.get(i),
+                    Map.of("username", "seed-user-" + i, "email", "seed-user-" + i + "@mail.com"));
+        });
+        route(routes, "users.delete", () -> {
+            Long id = createdUsuarioIds.poll();
+            return id == null ? null : delete("/api/user/" + id);
+        });
+        route(routes, "users.byEmail", () -> get("/api/user/by-email/seed-user-" + usuarioIndex() + "@mail.com"));
+        route(routes, "users.exists", () -> get("/api/user/exists/seed-user-" + random().nextInt(usuarioIds.size() * 2)));
+        route(routes, "users.countByEmail", () -> get("/api/user/count/seed-user-" + usuarioIndex() + "@mail.com"));
+        route(routes, "users.deleteByEmail", () -> {
+            String email = createdEmails.poll();
+            return email == null ? null : delete("/api/user/delete/" + email);
+        });
+
+        return routes;
+    }
+
+    private void route(List<Route> routes, String name, Supplier<HttpRequest> requestFactory) {
+        route(routes, name, requestFactory, body -> { });
+    }
+
+    private void route(List<Route> routes, String name, Supplier<HttpRequest> requestFactory, Consumer<String> onSuccess) {
+        int weight = config.getWeight(name);
+        if (weight > 0) {
+            routes.add(new Route(name, weight, requestFactory, onSuccess));
+        }
+    }
+
+    private void runPhase(List<Route> routes, int concurrency, int seconds) throws Exception {
+        int[] cumulativeWeights = new int[routes.size()];
+        int total = 0;
+        for (int i = 0; i < routes.size(); i++) {
+            total += routes.get(i).getWeight();
+            cumulativeWeights[i] = total;
+        }
+        int totalWeight = total;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        int ticket = random().nextInt(totalWeight);
+                        int index = 0;
+                        while (cumulativeWeights[index] <= ticket) {
+                            index++;
+                        }
+                        execute(routes.get(index));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void execute(Route route) {
+        HttpRequest request = route.newRequest();
+        if (request == null) {
+            return;
+        }
+        long started = System.nanoTime();
+        boolean success;
+        String body = null;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            success = response.statusCode() / 100 == 2;
+            body = response.body();
+        } catch (IOException ex) {
+            success = false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        route.getStats().record(System.nanoTime() - started, success);
+        if (success) {
+            route.succeeded(body);
+        }
+    }
+
+    private boolean report(List<Route> routes, double elapsedSeconds, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+
+        PrintStream out = System.out;
+        out.printf("%n%-22s %9s %9s %7s %9s %9s %9s %9s%n",
+                "route", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Route route : routes) {
+            RouteStats stats = route.getStats();
+            if (stats.getCount() == 0) {
+                continue;
+            }
+            double throughput = stats.getCount() / elapsedSeconds;
+            totalThroughput += throughput;
+            out.printf("%-22s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    route.getName(), stats.getCount(), throughput, stats.getErrors(),
+                    stats.percentileMillis(50), stats.percentileMillis(95), stats.percentileMillis(99), stats.maxMillis());
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("route", route.getName());
+            row.put("requests", stats.getCount());
+            row.put("throughput", throughput);
+            row.put("errors", stats.getErrors());
+            row.put("p50Millis", stats.percentileMillis(50));
+            row.put("p95Millis", stats.percentileMillis(95));
+            row.put("p99Millis", stats.percentileMillis(99));
+            row.put("maxMillis", stats.maxMillis());
+            rows.add(row);
+
+            try (PrintStream hgrm = new PrintStream(outputDir.resolve(route.getName() + ".hgrm").toFile())) {
+                // Values are recorded in microseconds; scale the distribution to milliseconds.
+                stats.getHistogram().outputPercentileDistribution(hgrm, 1000.0);
+            }
+
+            double p99Slo = config.getP99SloMillis(route.getName());
+            if (stats.percentileMillis(99) > p99Slo) {
+                violations.add(route.getName() + " p99 " + stats.percentileMillis(99) + " ms > " + p99Slo + " ms");
+            }
+            if (stats.getErrorRate() > config.getMaxErrorRate()) {
+                violations.add(route.getName() + " error rate " + stats.getErrorRate() + " > " + config.getMaxErrorRate());
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("concurrency", config.getInt("concurrency", 32));
+        report.put("totalThroughput", totalThroughput);
+        report.put("peakHeapBytes", peakHeapBytes);
+        report.put("peakThreads", peakThreads);
+        report.put("routes", rows);
+        report.put("sloViolations", violations);
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(outputDir.resolve("report.json").toFile(), report);
+
+        violations.forEach(violation -> out.println("SLO violated: " + violation));
+        out.println(violations.isEmpty() ? "All SLOs met." : violations.size() + " SLO violation(s).");
+        return violations.isEmpty();
+    }
+
+    private Map<String, Object> newTask(String status) {
+        return Map.of("title", "load-task-" + sequence.incrementAndGet(), "description", "created by the load test",
+                "tasksStatus", status, "usuarioId", pick(usuarioIds));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    private HttpRequest delete(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).DELETE().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body)))
+                .build();
+    }
+
+    private HttpRequest put(String path, Object body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(toJson(body)))
+                .build();
+    }
+
+    private static byte[] toJson(Object body) {
+        try {
+            return MAPPER.writeValueAsBytes(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Long readId(String body) {
+        try {
+            return MAPPER.readTree(body).get("id").asLong();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String readText(String body, String field) {
+        try {
+            JsonNode value = MAPPER.readTree(body).get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String cursorParam(AtomicReference<String> cursor) {
+        String after = cursor.get();
+        return after == null ? "" : "&after=" + after;
+    }
+
+    private int usuarioIndex() {
+        return random().nextInt(usuarioIds.size());
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(random().nextInt(values.size()));
+    }
+
+    private static ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+}
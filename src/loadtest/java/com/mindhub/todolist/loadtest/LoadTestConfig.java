@@ -0,0 +1,57 @@
+package com.mindhub.todolist.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * Settings from loadtest.properties, overridable with key=value program arguments.
+ */
+final class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+
+    LoadTestConfig(String[] args) {
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            properties.setProperty(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+    }
+
+    String getString(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
+    int getInt(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    double getDouble(String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    int getWeight(String route) {
+        return getInt("mix." + route, 0);
+    }
+
+    double getP99SloMillis(String route) {
+        return getDouble("slo." + route + ".p99Millis", getDouble("slo.default.p99Millis", Double.MAX_VALUE));
+    }
+
+    double getMaxErrorRate() {
+        return getDouble("slo.maxErrorRate", 0.0);
+    }
+}
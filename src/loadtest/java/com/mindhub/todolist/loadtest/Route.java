@@ -0,0 +1,49 @@
+package com.mindhub.todolist.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * One entry of the request mix. The request factory returns null when the route has nothing to do
+ * right now (for example a delete with no created rows left), and the worker picks another route.
+ */
+final class Route {
+
+    private final String name;
+
+    private final int weight;
+
+    private final Supplier<HttpRequest> requestFactory;
+
+    private final Consumer<String> onSuccess;
+
+    private final RouteStats stats = new RouteStats();
+
+    Route(String name, int weight, Supplier<HttpRequest> requestFactory, Consumer<String> onSuccess) {
+        this.name = name;
+        this.weight = weight;
+        this.requestFactory = requestFactory;
+        this.onSuccess = onSuccess;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getWeight() {
+        return weight;
+    }
+
+    HttpRequest newRequest() {
+        return requestFactory.get();
+    }
+
+    void succeeded(String body) {
+        onSuccess.accept(body);
+    }
+
+    RouteStats getStats() {
+        return stats;
+    }
+}
@@ -5,12 +5,19 @@ import com.mindhub.todolist.models.Usuario;
 import com.mindhub.todolist.models.enums.TaskStatus;
 import com.mindhub.todolist.repositories.TaskRepository;
 import com.mindhub.todolist.repositories.UsuarioRepository;
+import com.mindhub.todolist.services.DataSeedService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableCaching
+@EnableScheduling
 public class TodolistApplication {
 
 	public static void main(String[] args) {
@@ -18,11 +25,25 @@ public class TodolistApplication {
 	}
 
 
+	//demo rows are left out of the fast-startup profile, so instances start empty and quicker
 	@Bean
+	@Profile("!fast-startup")
 	public CommandLineRunner initData(UsuarioRepository usuarioRepository,
-									  TaskRepository taskRepository) {
+									  TaskRepository taskRepository,
+									  DataSeedService dataSeedService,
+									  @Value("${todolist.seed.users}") int seedUsers,
+									  @Value("${todolist.seed.tasks-per-user}") int seedTasksPerUser) {
 
 		return args -> {
+			//a database recovered by the durable profile already has its rows
+			if (usuarioRepository.count() > 0) {
+				return;
+			}
+			//the seed profile replaces the demo rows with a generated dataset
+			if (seedUsers > 0) {
+				dataSeedService.seed(seedUsers, seedTasksPerUser);
+				return;
+			}
 			Usuario usuario = new Usuario("kiara", "lsdwo","sdksd@gmail.com");
 			usuarioRepository.save(usuario);
 			Task task = new Task("ir al gym","hacer la rutina",TaskStatus.COMPLETED);
@@ -0,0 +1,85 @@
+package com.mindhub.todolist.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+// Opt-in with the durable profile: the in-memory database is rebuilt at startup from the snapshot and write-ahead
+// log in todolist.wal.dir, and every committed change is logged there from then on.
+@Configuration
+@Profile("durable")
+public class DurabilityConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DurabilityConfig.class);
+
+    public static final List<String> LOGGED_TABLES = List.of("usuario", "task", "task_archive_segment");
+
+    @Bean
+    public WriteAheadLog writeAheadLog(@Value("${todolist.wal.dir}") Path dir,
+                                       @Value("${todolist.wal.segment-size}") DataSize segmentSize,
+                                       @Value("${todolist.wal.sync}") boolean sync,
+                                       MeterRegistry meterRegistry) throws IOException {
+        return new WriteAheadLog(dir, (int) segmentSize.toBytes(), sync, meterRegistry);
+    }
+
+    @Bean
+    public TransactionExecutionListener writeAheadLogListener(WriteAheadLog writeAheadLog) {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+                if (beginFailure == null) {
+                    writeAheadLog.begin(transaction);
+                }
+            }
+
+            // A commit that failed may or may not have reached the database; it is not acknowledged, so it is not logged.
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                if (commitFailure == null) {
+                    writeAheadLog.commit(transaction);
+                } else {
+                    writeAheadLog.rollback(transaction);
+                }
+            }
+
+            @Override
+            public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+                writeAheadLog.rollback(transaction);
+            }
+        };
+    }
+
+    // Replays into the schema Hibernate just created, then installs the triggers that log every change after it.
+    // Taking the EntityManagerFactory makes this run after the schema exists.
+    @Bean
+    public WalRecovery walRecovery(DataSource dataSource, WriteAheadLog writeAheadLog,
+                                   EntityManagerFactory entityManagerFactory) throws IOException, SQLException {
+        WalRecovery walRecovery = new WalRecovery(dataSource, writeAheadLog.getDir(), LOGGED_TABLES);
+        var recovery = walRecovery.recover();
+        log.info("Recovered {} snapshot rows and {} logged changes from {} transactions in {} ms",
+                recovery.getSnapshotRows(), recovery.getLogRows(), recovery.getTransactions(), recovery.getMillis());
+
+        WalTrigger.writeAheadLog = writeAheadLog;
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String table : LOGGED_TABLES) {
+            jdbcTemplate.execute("create trigger " + table + "_wal after insert, update, delete on " + table
+                    + " for each row call \"" + WalTrigger.class.getName() + "\"");
+        }
+        return walRecovery;
+    }
+}
@@ -0,0 +1,105 @@
+package com.mindhub.todolist.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Opt-in with the replicas profile: read-only transactions are served by the H2 databases in todolist.replicas.urls,
+// which ReplicaSyncService keeps up to date from the primary.
+@Configuration
+@Profile("replicas")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaConfig {
+
+    public static final List<String> REPLICATED_TABLES = List.of("usuario", "task", "task_archive_segment");
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             @Value("${todolist.replicas.urls}") String[] urls,
+                                                             @Value("${todolist.replicas.pool-size}") int poolSize,
+                                                             @Value("${todolist.replicas.max-lag}") Duration maxLag,
+                                                             MeterRegistry meterRegistry) {
+        if (urls.length == 0) {
+            throw new IllegalStateException("The replicas profile needs todolist.replicas.urls");
+        }
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        List<DataSource> replicas = new ArrayList<>(urls.length);
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls[i].trim())
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(poolSize);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, maxLag.toMillis(), meterRegistry);
+    }
+
+    // Connections are only fetched on first use, once the transaction has marked them read-only or not.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaRoutingDataSource.getPrimary());
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public TransactionExecutionListener readYourWritesListener() {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                if (commitFailure == null && !transaction.isReadOnly()) {
+                    ReplicaRoutingDataSource.markWritten();
+                }
+            }
+        };
+    }
+
+    // Copies the schema Hibernate created on the primary to the replicas, leaving out the foreign keys: rows reach
+    // a replica in whatever order they are shipped and the primary already checked them. Triggers stay on the
+    // primary too. Then installs the triggers that record changes for the replica sync. Taking the
+    // EntityManagerFactory makes this run after the schema exists.
+    @Bean
+    public InitializingBean replicaSchemaInitializer(ReplicaRoutingDataSource dataSource,
+                                                     EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            JdbcTemplate primary = new JdbcTemplate(dataSource.getPrimary());
+            List<String> schema = primary.queryForList("script nodata", String.class);
+            for (int replica = 0; replica < dataSource.getReplicaCount(); replica++) {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource.getReplica(replica));
+                jdbcTemplate.execute("drop all objects");
+                schema.stream()
+                        .filter(statement -> !statement.startsWith("--") && !statement.contains("FOREIGN KEY")
+                                && !statement.startsWith("CREATE FORCE TRIGGER") && !statement.startsWith("CREATE TRIGGER"))
+                        .forEach(jdbcTemplate::execute);
+            }
+
+            primary.execute("create table replication_change (id bigint generated by default as identity primary key,"
+                    + " table_name varchar(64) not null, row_id bigint not null)");
+            for (String table : REPLICATED_TABLES) {
+                primary.execute("create trigger " + table + "_replication after insert, update, delete on " + table
+                        + " for each row call \"" + ReplicationTrigger.class.getName() + "\"");
+            }
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.mindhub.todolist.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Used for read-only transactions only: hands out a replica connection when the transaction serves a request that
+// has not written anything yet and some replica is within the allowed lag, the primary's otherwise.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String WROTE_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".WROTE";
+
+    private final DataSource primary;
+
+    private final List<DataSource> replicas;
+
+    // When each replica's last complete sync started; it holds everything committed before that. 0 until the first one.
+    private final AtomicLongArray syncedAt;
+
+    private final long maxLagMillis;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final List<Counter> replicaReads = new ArrayList<>();
+
+    private final Counter backgroundReads, stickyReads, laggingReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long maxLagMillis,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.syncedAt = new AtomicLongArray(replicas.size());
+        this.maxLagMillis = maxLagMillis;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+            int replica = i;
+            replicaReads.add(readCounter(meterRegistry, "replica-" + i, "replica"));
+            Gauge.builder("todolist.replica.lag", () -> getLagMillis(replica) / 1000.0)
+                    .tag("replica", "replica-" + i)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        backgroundReads = readCounter(meterRegistry, PRIMARY, "background");
+        stickyReads = readCounter(meterRegistry, PRIMARY, "read-your-writes");
+        laggingReads = readCounter(meterRegistry, PRIMARY, "lag");
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("todolist.replica.reads")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    public DataSource getReplica(int replica) {
+        return replicas.get(replica);
+    }
+
+    public void markSynced(int replica, long startedAtMillis) {
+        syncedAt.set(replica, startedAtMillis);
+    }
+
+    // Takes the replica out of rotation until its next complete sync.
+    public void markOutOfSync(int replica) {
+        syncedAt.set(replica, 0);
+    }
+
+    public long getLagMillis(int replica) {
+        long synced = syncedAt.get(replica);
+        return synced == 0 ? Long.MAX_VALUE : System.currentTimeMillis() - synced;
+    }
+
+    // Called after every committed read-write transaction; the rest of the request then reads from the primary.
+    public static void markWritten() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // Scheduled jobs and listeners rebuild state from what they read, so they never read a stale copy.
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            backgroundReads.increment();
+            return PRIMARY;
+        }
+        if (request.getAttribute(WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            stickyReads.increment();
+            return PRIMARY;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int replica = (start + i) % replicas.size();
+            if (getLagMillis(replica) <= maxLagMillis) {
+                replicaReads.get(replica).increment();
+                return replica;
+            }
+        }
+        laggingReads.increment();
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,41 @@
+package com.mindhub.todolist.config;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Installed on the primary by ReplicaConfig: notes the id of every inserted, updated or deleted row in the
+// replication_change table. The note commits or rolls back with the change itself, and the replica sync only
+// ships ids, re-reading the current row, so the order in which notes become visible does not matter.
+public class ReplicationTrigger implements Trigger {
+
+    private String tableName;
+
+    private int idColumn;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName, boolean before,
+                     int type) throws SQLException {
+        this.tableName = tableName.toLowerCase();
+        try (ResultSet columns = conn.getMetaData().getColumns(null, schemaName, tableName, "ID")) {
+            if (!columns.next()) {
+                throw new SQLException("Table " + tableName + " has no ID column to replicate by");
+            }
+            idColumn = columns.getInt("ORDINAL_POSITION") - 1;
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        Object[] row = newRow != null ? newRow : oldRow;
+        try (PreparedStatement insert = conn.prepareStatement(
+                "insert into replication_change (table_name, row_id) values (?, ?)")) {
+            insert.setString(1, tableName);
+            insert.setObject(2, row[idColumn]);
+            insert.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.mindhub.todolist.config;
+
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.InitialValueAwareOptimizer;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.PooledOptimizer;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Hibernate keeps one optimizer per sequence, but each shard has its own copy of the sequence: a block fetched on
+// one shard must not hand out ids on another. Keeps one pooled block per shard, taken from the shard the session
+// is writing to. Set as hibernate.id.optimizer.pooled.preferred by the sharded profile.
+public class ShardPooledOptimizer implements Optimizer, InitialValueAwareOptimizer {
+
+    private final Class<?> returnClass;
+
+    private final int incrementSize;
+
+    private long initialValue = -1;
+
+    private final ConcurrentMap<Integer, PooledOptimizer> shards = new ConcurrentHashMap<>();
+
+    // The signature OptimizerFactory looks for on a custom optimizer.
+    public ShardPooledOptimizer(Class<?> returnClass, int incrementSize) {
+        this.returnClass = returnClass;
+        this.incrementSize = incrementSize;
+    }
+
+    @Override
+    public void injectInitialValue(long initialValue) {
+        this.initialValue = initialValue;
+    }
+
+    @Override
+    public Serializable generate(AccessCallback callback) {
+        Integer shard = ShardRoutingDataSource.getCurrentShard();
+        return shards.computeIfAbsent(shard != null ? shard : 0, this::createShardOptimizer).generate(callback);
+    }
+
+    private PooledOptimizer createShardOptimizer(Integer shard) {
+        PooledOptimizer optimizer = new PooledOptimizer(returnClass, incrementSize);
+        optimizer.injectInitialValue(initialValue);
+        return optimizer;
+    }
+
+    @Override
+    public IntegralDataTypeHolder getLastSourceValue() {
+        Integer shard = ShardRoutingDataSource.getCurrentShard();
+        PooledOptimizer optimizer = shards.get(shard != null ? shard : 0);
+        return optimizer != null ? optimizer.getLastSourceValue() : null;
+    }
+
+    @Override
+    public int getIncrementSize() {
+        return incrementSize;
+    }
+
+    // The database sequences advance by a whole block, as with the pooled optimizer.
+    @Override
+    public boolean applyIncrementSizeToSourceValues() {
+        return true;
+    }
+}
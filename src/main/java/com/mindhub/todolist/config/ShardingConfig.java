@@ -0,0 +1,71 @@
+package com.mindhub.todolist.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Opt-in with the sharded profile: users and their tasks are spread over one H2 database per todolist.sharding.urls entry.
+@Configuration
+@Profile("sharded")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                             @Value("${todolist.sharding.urls}") String[] urls,
+                                             @Value("${todolist.sharding.pool-size}") int poolSize) {
+        if (urls.length == 0) {
+            throw new IllegalStateException("The sharded profile needs todolist.sharding.urls");
+        }
+        List<DataSource> shards = new ArrayList<>(urls.length);
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource shard = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls[i].trim())
+                    .build();
+            shard.setPoolName("shard-" + i);
+            shard.setMaximumPoolSize(poolSize);
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    // Hibernate only creates the schema on shard 0; copy it to the other shards and move every shard's
+    // sequences into its own id range. Taking the EntityManagerFactory makes this run after the schema exists.
+    @Bean
+    public InitializingBean shardSchemaInitializer(ShardRoutingDataSource dataSource,
+                                                   EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            List<String> schema = new JdbcTemplate(dataSource.getShard(0)).queryForList("script nodata", String.class);
+            for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource.getShard(shard));
+                if (shard > 0) {
+                    schema.stream()
+                            .filter(statement -> !statement.startsWith("--"))
+                            .forEach(jdbcTemplate::execute);
+                }
+                // The pooled optimizer treats the first value as the top of a block, so the block ends one
+                // increment into the range and the first id is the range's first one.
+                long firstValue = shard * ShardRoutingDataSource.ID_RANGE;
+                jdbcTemplate.query(
+                        "select sequence_name, increment from information_schema.sequences where sequence_schema = 'PUBLIC'",
+                        (RowCallbackHandler) rs -> jdbcTemplate.execute("alter sequence \"" + rs.getString(1)
+                                + "\" restart with " + (firstValue + rs.getLong(2))));
+            }
+        };
+    }
+}
@@ -0,0 +1,208 @@
+package com.mindhub.todolist.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// One entry of the write-ahead log, and one row of a snapshot. Rows carry their table and column names, so a log
+// replays into whatever column order the schema has after a restart.
+public final class WalRecord {
+
+    public static final byte UPSERT = 1;
+
+    public static final byte DELETE = 2;
+
+    public static final byte COMMIT = 3;
+
+    public static final byte ROLLBACK = 4;
+
+    // Next value of a sequence, written at the end of a snapshot.
+    public static final byte SEQUENCE = 5;
+
+    // Ends the rows of a snapshot.
+    public static final byte END = 0;
+
+    private static final byte NULL = 0, LONG = 1, INT = 2, STRING = 3, BYTES = 4, TIMESTAMP = 5, BOOLEAN = 6;
+
+    private final byte type;
+
+    // 0 in snapshots; the log only takes rows written inside a Spring transaction.
+    private final long transactionId;
+
+    private final String table;
+
+    private final String[] columns;
+
+    private final Object[] values;
+
+    private WalRecord(byte type, long transactionId, String table, String[] columns, Object[] values) {
+        this.type = type;
+        this.transactionId = transactionId;
+        this.table = table;
+        this.columns = columns;
+        this.values = values;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public long getTransactionId() {
+        return transactionId;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String[] getColumns() {
+        return columns;
+    }
+
+    public Object[] getValues() {
+        return values;
+    }
+
+    public boolean isRow() {
+        return type == UPSERT || type == DELETE;
+    }
+
+    // Table and column names, encoded once by each trigger instead of for every row.
+    public static byte[] encodeHeader(String table, String[] columns) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(table);
+            out.writeShort(columns.length);
+            for (String column : columns) {
+                out.writeUTF(column);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static void writeRow(DataOutput out, byte type, long transactionId, byte[] header, Object[] values)
+            throws IOException {
+        out.writeByte(type);
+        out.writeLong(transactionId);
+        out.write(header);
+        for (Object value : values) {
+            writeValue(out, value);
+        }
+    }
+
+    public static void writeMarker(DataOutput out, byte type, long transactionId) throws IOException {
+        out.writeByte(type);
+        out.writeLong(transactionId);
+    }
+
+    public static void writeSequence(DataOutput out, String sequence, long nextValue) throws IOException {
+        out.writeByte(SEQUENCE);
+        out.writeLong(0);
+        out.writeUTF(sequence);
+        out.writeLong(nextValue);
+    }
+
+    // Null at the END of a snapshot.
+    public static WalRecord read(DataInput in) throws IOException {
+        byte type = in.readByte();
+        if (type == END) {
+            return null;
+        }
+        long transactionId = in.readLong();
+        if (type == SEQUENCE) {
+            return new WalRecord(type, transactionId, in.readUTF(), null, new Object[]{in.readLong()});
+        }
+        if (type != UPSERT && type != DELETE) {
+            return new WalRecord(type, transactionId, null, null, null);
+        }
+        String table = in.readUTF();
+        String[] columns = new String[in.readShort()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = in.readUTF();
+        }
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readValue(in);
+        }
+        return new WalRecord(type, transactionId, table, columns, values);
+    }
+
+    public static WalRecord read(byte[] entry) {
+        try {
+            return read(new DataInputStream(new ByteArrayInputStream(entry)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeValue(DataOutput out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Long longValue) {
+            out.writeByte(LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Integer intValue) {
+            out.writeByte(INT);
+            out.writeInt(intValue);
+        } else if (value instanceof String string) {
+            // Not writeUTF, which stops at 64KB.
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeByte(STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof byte[] bytes) {
+            out.writeByte(BYTES);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof Timestamp || value instanceof LocalDateTime) {
+            LocalDateTime dateTime = value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+            out.writeByte(TIMESTAMP);
+            out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(dateTime.getNano());
+        } else if (value instanceof Boolean booleanValue) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(booleanValue);
+        } else {
+            throw new IllegalArgumentException("No log encoding for column values of type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case LONG:
+                return in.readLong();
+            case INT:
+                return in.readInt();
+            case STRING: {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            case BYTES: {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return bytes;
+            }
+            case TIMESTAMP:
+                return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            case BOOLEAN:
+                return in.readBoolean();
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.dtos.RecoveryDto;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+// Rebuilds the in-memory database from the newest snapshot in the log directory plus the committed part of the log
+// written after it. Rows are applied as merges and deletes by id, so applying a change the snapshot already has
+// is harmless, and they are applied in log order, the order the database made them in.
+public class WalRecovery {
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+
+    private static final String SNAPSHOT_SUFFIX = ".bin.gz";
+
+    private static final int ROWS_PER_COMMIT = 10_000;
+
+    // Hibernate's default allocation size, see DataSeedServiceImpl.
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    private final DataSource dataSource;
+
+    private final Path dir;
+
+    private final List<String> tables;
+
+    private RecoveryDto recovery;
+
+    public WalRecovery(DataSource dataSource, Path dir, List<String> tables) {
+        this.dataSource = dataSource;
+        this.dir = dir;
+        this.tables = tables;
+    }
+
+    public RecoveryDto recover() throws IOException, SQLException {
+        long startedAt = System.nanoTime();
+        Path snapshot = findLatestSnapshot(dir);
+        long replayFrom = snapshot != null ? snapshotLsn(snapshot) : 0;
+
+        // First pass finds the transactions that committed; rows of the others were rolled back or cut off by a crash.
+        // It also finds the highest id every table handed out, rolled back and deleted rows included.
+        Set<Long> committed = new HashSet<>();
+        Map<String, Long> highestIds = new HashMap<>();
+        WriteAheadLog.read(dir, replayFrom, record -> {
+            if (record.getType() == WalRecord.COMMIT) {
+                committed.add(record.getTransactionId());
+            } else if (record.isRow()) {
+                int idColumn = Arrays.asList(record.getColumns()).indexOf("ID");
+                if (idColumn >= 0 && record.getValues()[idColumn] instanceof Number id) {
+                    highestIds.merge(record.getTable().toLowerCase(), id.longValue(), Math::max);
+                }
+            }
+        });
+
+        long snapshotRows = 0;
+        Map<String, Long> sequences = new HashMap<>();
+        long[] logRows = new long[1];
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            // A crash can leave a transaction's rows without the ones of an earlier transaction it read.
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set referential_integrity false");
+            }
+            try (RowApplier applier = new RowApplier(connection)) {
+                if (snapshot != null) {
+                    try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                            new GZIPInputStream(Files.newInputStream(snapshot), 1 << 16)))) {
+                        in.readLong();
+                        WalRecord record;
+                        while ((record = WalRecord.read(in)) != null) {
+                            if (record.getType() == WalRecord.SEQUENCE) {
+                                sequences.put(record.getTable(), (Long) record.getValues()[0]);
+                                continue;
+                            }
+                            applier.apply(record);
+                            snapshotRows++;
+                        }
+                    }
+                }
+                WriteAheadLog.read(dir, replayFrom, record -> {
+                    if (record.isRow() && committed.contains(record.getTransactionId())) {
+                        try {
+                            applier.apply(record);
+                        } catch (SQLException ex) {
+                            throw new IllegalStateException("Could not replay a change to " + record.getTable(), ex);
+                        }
+                        logRows[0]++;
+                    }
+                });
+                applier.flush();
+                connection.commit();
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("set referential_integrity true");
+                }
+                connection.setAutoCommit(autoCommit);
+            }
+            restartSequences(connection, sequences, highestIds);
+        }
+        recovery = new RecoveryDto(snapshot != null ? replayFrom : null, snapshotRows, logRows[0], committed.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return recovery;
+    }
+
+    // Null before recover().
+    public RecoveryDto getRecovery() {
+        return recovery;
+    }
+
+    // Hands out ids after every one handed out before the crash, not just after the highest recovered one: the log
+    // finds rows by id, and archived tasks keep theirs in their segment.
+    private void restartSequences(Connection connection, Map<String, Long> sequences, Map<String, Long> highestIds)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : tables) {
+                long maxId = Math.max(highestIds.getOrDefault(table, 0L),
+                        queryLong(statement, "select coalesce(max(id), 0) from " + table));
+                if (table.equals("task")) {
+                    maxId = Math.max(maxId, queryLong(statement,
+                            "select coalesce(max(last_task_id), 0) from task_archive_segment"));
+                }
+                String sequence = table + "_seq";
+                long restartWith = Math.max(sequences.getOrDefault(sequence, 0L),
+                        maxId > 0 ? maxId + SEQUENCE_INCREMENT : 0);
+                if (restartWith > 0) {
+                    statement.execute("alter sequence " + sequence + " restart with " + restartWith);
+                }
+            }
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    public static Path snapshotPath(Path dir, long lsn) {
+        return dir.resolve(SNAPSHOT_PREFIX + String.format("%020d", lsn) + SNAPSHOT_SUFFIX);
+    }
+
+    public static long snapshotLsn(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    // Null when there is none; snapshots are only ever renamed into place once complete.
+    public static Path findLatestSnapshot(Path dir) throws IOException {
+        return listSnapshots(dir).stream().reduce((first, second) -> second).orElse(null);
+    }
+
+    // Oldest first.
+    public static List<Path> listSnapshots(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // Batches consecutive changes that use the same statement; a different statement runs the pending batch
+    // first, so the order of the changes is kept.
+    private static final class RowApplier implements AutoCloseable {
+
+        private static final int BATCH_SIZE = 1000;
+
+        private final Connection connection;
+
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        private PreparedStatement pending;
+
+        private int pendingRows, uncommittedRows;
+
+        private RowApplier(Connection connection) {
+            this.connection = connection;
+        }
+
+        private void apply(WalRecord record) throws SQLException {
+            String[] columns = record.getColumns();
+            String sql = record.getType() == WalRecord.DELETE
+                    ? "delete from " + record.getTable() + " where " + columns[0] + " = ?"
+                    : "merge into " + record.getTable() + " (" + String.join(", ", columns) + ") key (id) values ("
+                    + "?, ".repeat(columns.length - 1) + "?)";
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            }
+            if (statement != pending) {
+                flush();
+                pending = statement;
+            }
+            Object[] values = record.getValues();
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++pendingRows == BATCH_SIZE) {
+                flush();
+            }
+            if (++uncommittedRows == ROWS_PER_COMMIT) {
+                flush();
+                connection.commit();
+                uncommittedRows = 0;
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending != null && pendingRows > 0) {
+                pending.executeBatch();
+            }
+            pendingRows = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            for (PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+        }
+    }
+}
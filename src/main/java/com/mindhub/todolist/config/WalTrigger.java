@@ -0,0 +1,54 @@
+package com.mindhub.todolist.config;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Installed by DurabilityConfig on every logged table once recovery is done: appends each inserted, updated or
+// deleted row to the write-ahead log from inside the statement, so the log has row changes in the order the
+// database applied them. Whether they count is decided by the commit marker WriteAheadLog writes afterwards.
+public class WalTrigger implements Trigger {
+
+    // Set by DurabilityConfig; H2 creates triggers from their class name, so they cannot be given a bean.
+    static volatile WriteAheadLog writeAheadLog;
+
+    private byte[] rowHeader;
+
+    private byte[] idHeader;
+
+    private int idColumn;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName, boolean before,
+                     int type) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (ResultSet metadata = conn.getMetaData().getColumns(null, schemaName, tableName, null)) {
+            while (metadata.next()) {
+                columns.add(metadata.getString("COLUMN_NAME"));
+            }
+        }
+        idColumn = columns.indexOf("ID");
+        if (idColumn < 0) {
+            throw new SQLException("Table " + tableName + " has no ID column to log deletes by");
+        }
+        rowHeader = WalRecord.encodeHeader(tableName, columns.toArray(String[]::new));
+        idHeader = WalRecord.encodeHeader(tableName, new String[]{"ID"});
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) {
+        WriteAheadLog log = writeAheadLog;
+        if (log == null) {
+            return;
+        }
+        if (newRow != null) {
+            log.appendRow(WalRecord.UPSERT, rowHeader, newRow);
+        } else {
+            log.appendRow(WalRecord.DELETE, idHeader, new Object[]{oldRow[idColumn]});
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.mindhub.todolist.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.TransactionExecution;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Append-only log of row changes in fixed-size memory-mapped segment files. Every entry is its length, a CRC32C
+// and a WalRecord; a position in the log (LSN) is the segment's first LSN, which names the file, plus the offset.
+// Appends are copies into the mapping, so they survive a crash of the process as soon as they are made; a commit
+// also waits for the pages to be forced to disk, and every commit waiting at that moment shares one force.
+public class WriteAheadLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final int ENTRY_HEADER = 8;
+
+    private final Path dir;
+
+    private final int segmentSize;
+
+    private final boolean sync;
+
+    private final Object appendLock = new Object();
+
+    private final Object syncLock = new Object();
+
+    // Guarded by appendLock.
+    private FileChannel channel;
+
+    private MappedByteBuffer buffer;
+
+    private long segmentStart;
+
+    private long nextTransactionId;
+
+    // Guarded by syncLock.
+    private long synced;
+
+    private boolean syncing;
+
+    // First LSN of every transaction that wrote and has not ended yet.
+    private final ConcurrentSkipListSet<Long> openTransactions = new ConcurrentSkipListSet<>();
+
+    private final ThreadLocal<ArrayDeque<Transaction>> transactions = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final Counter records, commits, syncs;
+
+    public WriteAheadLog(Path dir, int segmentSize, boolean sync, MeterRegistry meterRegistry) throws IOException {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        Files.createDirectories(dir);
+        // Every start appends to a new segment, so a torn entry left by a crash stays the last one of its segment.
+        List<Segment> segments = listSegments(dir);
+        long start = segments.isEmpty() ? 0 : segments.get(segments.size() - 1).end();
+        openSegment(start);
+        // Transaction ids only have to be unique within the log: each one writes at least an entry, so the ids
+        // handed out by one run stay below the first LSN of the next.
+        nextTransactionId = start + 1;
+        synced = start;
+
+        records = Counter.builder("todolist.wal.records").register(meterRegistry);
+        commits = Counter.builder("todolist.wal.commits").register(meterRegistry);
+        syncs = Counter.builder("todolist.wal.syncs")
+                .description("Forces of the log to disk; commits per sync is the group commit size")
+                .register(meterRegistry);
+        Gauge.builder("todolist.wal.size", this, log -> log.getSize()).baseUnit("bytes").register(meterRegistry);
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    // Called by TransactionExecutionListener callbacks; read-only transactions end without touching the log.
+    public void begin(TransactionExecution execution) {
+        transactions.get().push(new Transaction(execution));
+    }
+
+    public void commit(TransactionExecution execution) {
+        Transaction transaction = end(execution);
+        if (transaction == null || transaction.firstLsn < 0) {
+            return;
+        }
+        long end = appendMarker(WalRecord.COMMIT, transaction);
+        commits.increment();
+        if (sync) {
+            awaitSync(end);
+        }
+    }
+
+    public void rollback(TransactionExecution execution) {
+        Transaction transaction = end(execution);
+        if (transaction != null && transaction.firstLsn >= 0) {
+            appendMarker(WalRecord.ROLLBACK, transaction);
+        }
+    }
+
+    private Transaction end(TransactionExecution execution) {
+        ArrayDeque<Transaction> stack = transactions.get();
+        return !stack.isEmpty() && stack.peek().execution == execution ? stack.pop() : null;
+    }
+
+    // Called by WalTrigger for every changed row, inside the statement that changes it. Writes outside a Spring
+    // transaction are refused: nothing would tell the log whether they were committed or rolled back.
+    public void appendRow(byte type, byte[] header, Object[] values) {
+        Transaction transaction = transactions.get().peek();
+        if (transaction == null) {
+            throw new IllegalStateException("Writes to logged tables need a Spring-managed transaction");
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            synchronized (appendLock) {
+                if (transaction.firstLsn < 0) {
+                    transaction.id = nextTransactionId++;
+                }
+                WalRecord.writeRow(out, type, transaction.id, header, values);
+                long lsn = append(bytes.toByteArray());
+                if (transaction.firstLsn < 0) {
+                    transaction.firstLsn = lsn;
+                    openTransactions.add(lsn);
+                }
+            }
+            records.increment();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Returns the LSN after the marker.
+    private long appendMarker(byte type, Transaction transaction) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+            WalRecord.writeMarker(new DataOutputStream(bytes), type, transaction.id);
+            synchronized (appendLock) {
+                append(bytes.toByteArray());
+                openTransactions.remove(transaction.firstLsn);
+                return getAppended();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Returns the LSN of the entry; called with appendLock held.
+    private long append(byte[] entry) throws IOException {
+        if (ENTRY_HEADER + entry.length > segmentSize) {
+            throw new IllegalArgumentException("A log entry of " + entry.length + " bytes does not fit in a segment");
+        }
+        if (buffer.remaining() < ENTRY_HEADER + entry.length) {
+            // Forced here so that waiting commits only ever have to force the current segment.
+            buffer.force();
+            channel.close();
+            openSegment(segmentStart + segmentSize);
+        }
+        long lsn = getAppended();
+        CRC32C crc = new CRC32C();
+        crc.update(entry);
+        buffer.putInt(entry.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(entry);
+        return lsn;
+    }
+
+    // Leader-follower group commit: the first commit to arrive forces everything appended so far, the ones arriving
+    // meanwhile wait for it and then find their entries already forced or force them together on the next round.
+    private void awaitSync(long lsn) {
+        while (true) {
+            synchronized (syncLock) {
+                while (synced < lsn && syncing) {
+                    try {
+                        syncLock.wait();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted waiting for the write-ahead log", ex);
+                    }
+                }
+                if (synced >= lsn) {
+                    return;
+                }
+                syncing = true;
+            }
+            long target = 0;
+            try {
+                MappedByteBuffer toForce;
+                synchronized (appendLock) {
+                    toForce = buffer;
+                    target = getAppended();
+                }
+                toForce.force();
+                syncs.increment();
+            } finally {
+                synchronized (syncLock) {
+                    synced = Math.max(synced, target);
+                    syncing = false;
+                    syncLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    // Where a replay has to start to see every transaction that is not yet fully committed.
+    public long getReplayStart() {
+        synchronized (appendLock) {
+            long appended = getAppended();
+            return openTransactions.isEmpty() ? appended : Math.min(openTransactions.first(), appended);
+        }
+    }
+
+    public long getAppended() {
+        synchronized (appendLock) {
+            return segmentStart + buffer.position();
+        }
+    }
+
+    public long getSynced() {
+        synchronized (syncLock) {
+            return synced;
+        }
+    }
+
+    public long getSize() {
+        try {
+            return listSegments(dir).stream().mapToLong(segment -> segment.size).sum();
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    public int getSegmentCount() {
+        try {
+            return listSegments(dir).size();
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    // Drops the segments that end at or before the LSN, once a snapshot covers them.
+    public void deleteBefore(long lsn) throws IOException {
+        synchronized (appendLock) {
+            for (Segment segment : listSegments(dir)) {
+                if (segment.end() <= lsn && segment.start != segmentStart) {
+                    Files.deleteIfExists(segment.path);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (WalTrigger.writeAheadLog == this) {
+            WalTrigger.writeAheadLog = null;
+        }
+        synchronized (appendLock) {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    private void openSegment(long start) throws IOException {
+        channel = FileChannel.open(dir.resolve(segmentName(start)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Mapping grows the file to its full size; the unwritten part reads as zeros, which ends a segment.
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentStart = start;
+    }
+
+    // Calls the consumer with every intact record from the LSN on, in log order, and returns how many there were.
+    public static long read(Path dir, long fromLsn, Consumer<WalRecord> consumer) throws IOException {
+        long count = 0;
+        for (Segment segment : listSegments(dir)) {
+            if (segment.end() <= fromLsn) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                CRC32C crc = new CRC32C();
+                while (buffer.remaining() >= ENTRY_HEADER) {
+                    long lsn = segment.start + buffer.position();
+                    int length = buffer.getInt();
+                    int checksum = buffer.getInt();
+                    // Zeros past the last entry, or an entry torn by a crash: the rest of the segment is unused.
+                    if (length <= 0 || length > buffer.remaining()) {
+                        break;
+                    }
+                    byte[] entry = new byte[length];
+                    buffer.get(entry);
+                    crc.reset();
+                    crc.update(entry);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                    if (lsn >= fromLsn) {
+                        consumer.accept(WalRecord.read(entry));
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private static List<Segment> listSegments(Path dir) throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return segments;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    long start = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    segments.add(new Segment(path, start, path.toFile().length()));
+                }
+            });
+        }
+        segments.sort(Comparator.comparingLong(segment -> segment.start));
+        return segments;
+    }
+
+    private static String segmentName(long start) {
+        return SEGMENT_PREFIX + String.format("%020d", start) + SEGMENT_SUFFIX;
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+
+        private final long start;
+
+        private final long size;
+
+        private Segment(Path path, long start, long size) {
+            this.path = path;
+            this.start = start;
+            this.size = size;
+        }
+
+        private long end() {
+            return start + size;
+        }
+    }
+
+    private static final class Transaction {
+
+        private final TransactionExecution execution;
+
+        private long id;
+
+        // -1 until the transaction writes its first row.
+        private long firstLsn = -1;
+
+        private Transaction(TransactionExecution execution) {
+            this.execution = execution;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.mindhub.todolist.controllers;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.mindhub.todolist.dtos.CacheStatsDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private final CacheManager cacheManager;
+
+    public CacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @GetMapping("/stats")
+    public List<CacheStatsDto> getCacheStats() {
+        return cacheManager.getCacheNames()
+                .stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(cache -> {
+                    Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+                    return new CacheStatsDto(cache.getName(), nativeCache.estimatedSize(), nativeCache.stats());
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,35 @@
+package com.mindhub.todolist.controllers;
+
+import com.mindhub.todolist.dtos.DurabilityStatusDto;
+import com.mindhub.todolist.dtos.SnapshotDto;
+import com.mindhub.todolist.services.DurabilityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/durability")
+@Profile("durable")
+public class DurabilityController {
+
+    @Autowired
+    private final DurabilityService durabilityService;
+
+    public DurabilityController(DurabilityService durabilityService) {
+        this.durabilityService = durabilityService;
+    }
+
+    @GetMapping
+    public DurabilityStatusDto getStatus() {
+        return durabilityService.getStatus();
+    }
+
+    // Takes a snapshot now instead of waiting for todolist.wal.snapshot-interval.
+    @PostMapping("/snapshot")
+    public SnapshotDto snapshot() {
+        return durabilityService.snapshot();
+    }
+}
@@ -0,0 +1,43 @@
+package com.mindhub.todolist.controllers;
+
+import com.mindhub.todolist.exceptions.VersionConflictExc;
+import com.mindhub.todolist.repositories.VersionSummary;
+
+// ETags built from @Version columns, so a conditional request never needs the DTO to be serialized.
+// They are weak: the same version is served as JSON, CBOR or Smile, gzipped or not, and Tomcat
+// refuses to compress responses carrying a strong ETag.
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "W/\"" + version + "\"";
+    }
+
+    static String of(VersionSummary summary) {
+        return "W/\"" + Long.toHexString(summary.getCount())
+                + "-" + Long.toHexString(summary.getIdSum())
+                + "-" + Long.toHexString(summary.getVersionSum()) + "\"";
+    }
+
+    // Version the client expects from If-Match, or null when any version is accepted.
+    // The tag still names one exact row version, so the weak prefix is accepted here.
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            try {
+                return Long.parseLong(etag.substring(1, etag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through: it cannot match any version we issued
+            }
+        }
+        throw new VersionConflictExc("If-Match " + ifMatch + " does not match the current version");
+    }
+}
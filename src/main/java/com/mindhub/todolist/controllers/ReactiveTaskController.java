@@ -0,0 +1,96 @@
+package com.mindhub.todolist.controllers;
+
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.CursorPageDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.services.ReactiveTaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Same contract as TaskController, served by WebFlux when the reactive profile is active.
+@RestController
+@RequestMapping("/api/tasks")
+@Profile("reactive")
+public class ReactiveTaskController {
+
+    @Autowired
+    private final ReactiveTaskService reactiveTaskService;
+
+    public ReactiveTaskController(ReactiveTaskService reactiveTaskService) {
+        this.reactiveTaskService = reactiveTaskService;
+    }
+
+    @GetMapping
+    public Flux<TaskDto> getAllTasks() {
+        return reactiveTaskService.getAllTasks();
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<CursorPageDto<TaskDto>> getTasksPage(@RequestParam(required = false) String after,
+                                                     @RequestParam int limit) {
+        return reactiveTaskService.getTasksPage(after, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskDto> exportTasks() {
+        return reactiveTaskService.getAllTasks();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<TaskDto> getTaskById(@PathVariable Long id) {
+        return reactiveTaskService.getTaskById(id);
+    }
+
+    @PostMapping
+    public Mono<TaskDto> createTask(@RequestBody TaskInputDto taskInputDto) {
+        return reactiveTaskService.createTask(taskInputDto);
+    }
+
+    @PostMapping("/bulk")
+    public Flux<BulkResultDto> createTasks(@RequestBody List<TaskInputDto> taskInputDtos) {
+        return reactiveTaskService.createTasks(taskInputDtos);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<TaskDto> updateTask(@PathVariable Long id, @RequestBody TaskInputDto taskInputDto) {
+        return reactiveTaskService.updateTask(id, taskInputDto);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteTask(@PathVariable Long id) {
+        return reactiveTaskService.deleteTask(id);
+    }
+
+    @GetMapping("/by-status/{taskStatus}")
+    public Flux<TaskDto> getFindByTaskStatus(@PathVariable TaskStatus taskStatus) {
+        return reactiveTaskService.getFindByTaskStatus(taskStatus);
+    }
+
+    @GetMapping("/by-title/{title}")
+    public Mono<Boolean> getExistsByTitle(@PathVariable String title) {
+        return reactiveTaskService.getExistsByTitle(title);
+    }
+
+    @GetMapping("/count/{usuarioId}")
+    public Mono<Long> getCountByUsuarioId(@PathVariable Long usuarioId) {
+        return reactiveTaskService.getCountByUsuarioId(usuarioId);
+    }
+
+    @GetMapping("/filter/{title}")
+    public Flux<TaskDto> getfindByTitleOrderByIdAsc(@PathVariable String title) {
+        return reactiveTaskService.getfindByTitleOrderByIdAsc(title);
+    }
+
+    @DeleteMapping("/delete/{status}")
+    public Mono<Long> deleteByTaskStatus(@PathVariable TaskStatus status) {
+        return reactiveTaskService.deleteByTaskStatus(status);
+    }
+}
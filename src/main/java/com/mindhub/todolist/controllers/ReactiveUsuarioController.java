@@ -0,0 +1,114 @@
+package com.mindhub.todolist.controllers;
+
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.CursorPageDto;
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.UsuarioDto;
+import com.mindhub.todolist.services.UsuarioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// Same contract as UsuarioController, served by WebFlux when the reactive profile is active. Users stay on the
+// JPA service, which keeps their caches and events in one place, so every call runs off the event loop.
+@RestController
+@RequestMapping("/api/user")
+@Profile("reactive")
+public class ReactiveUsuarioController {
+
+    @Autowired
+    private final UsuarioService usuarioService;
+
+    public ReactiveUsuarioController(UsuarioService usuarioService) {
+        this.usuarioService = usuarioService;
+    }
+
+    @GetMapping
+    public Mono<List<UsuarioDto>> getAllUsuarios(ServerWebExchange exchange) {
+        return blocking(() -> {
+            if (exchange.checkNotModified(ETags.of(usuarioService.getUsuariosVersionSummary()))) {
+                return null;
+            }
+            return usuarioService.getAllUsuarios();
+        });
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<CursorPageDto<UsuarioDto>> getUsuariosPage(@RequestParam(required = false) String after,
+                                                           @RequestParam int limit) {
+        return blocking(() -> usuarioService.getUsuariosPage(after, limit));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<UsuarioDto> getUsuarioById(@PathVariable Long id, ServerWebExchange exchange) {
+        return blocking(() -> {
+            UsuarioDto usuarioDto = usuarioService.getUsuarioById(id);
+            if (exchange.checkNotModified(ETags.of(usuarioDto.getVersion()))) {
+                return null;
+            }
+            return usuarioDto;
+        });
+    }
+
+    @PostMapping
+    public Mono<UsuarioDto> createUsuario(@RequestBody NewUsuarioDto newUsuarioDto) {
+        return blocking(() -> usuarioService.createUsuario(newUsuarioDto));
+    }
+
+    @PostMapping("/bulk")
+    public Mono<List<BulkResultDto>> createUsuarios(@RequestBody List<NewUsuarioDto> newUsuarioDtos) {
+        return blocking(() -> usuarioService.createUsuarios(newUsuarioDtos));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<UsuarioDto>> updateUsuario(@PathVariable Long id, @RequestBody UsuarioDto usuarioDto,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return blocking(() -> {
+            UsuarioDto updatedUsuario = usuarioService.updateUsuario(id, usuarioDto, ETags.expectedVersion(ifMatch));
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(updatedUsuario.getVersion()))
+                    .body(updatedUsuario);
+        });
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteUsuario(@PathVariable Long id) {
+        return blocking(() -> {
+            usuarioService.deleteUsuario(id);
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    @GetMapping("/by-email/{email}")
+    public Mono<UsuarioDto> getUsuarioByEmail(@PathVariable String email) {
+        return blocking(() -> usuarioService.getUsuarioByEmail(email));
+    }
+
+    @GetMapping("/exists/{username}")
+    public Mono<Boolean> getExistsByUsername(@PathVariable String username) {
+        return blocking(() -> usuarioService.getExistByUsername(username));
+    }
+
+    @GetMapping("/count/{email}")
+    public Mono<Long> getCountByEmail(@PathVariable String email) {
+        return blocking(() -> usuarioService.getCountByEmail(email));
+    }
+
+    @DeleteMapping("/delete/{email}")
+    public Mono<Long> deleteByEmail(@PathVariable String email) {
+        return blocking(() -> usuarioService.deleteByEmail(email));
+    }
+
+    // A null result (a 304 already set on the exchange) completes empty.
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
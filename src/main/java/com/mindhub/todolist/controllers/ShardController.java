@@ -0,0 +1,39 @@
+package com.mindhub.todolist.controllers;
+
+import com.mindhub.todolist.dtos.ShardDto;
+import com.mindhub.todolist.dtos.ShardMoveDto;
+import com.mindhub.todolist.services.ShardRebalanceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/shards")
+@Profile("sharded")
+public class ShardController {
+
+    @Autowired
+    private final ShardRebalanceService shardRebalanceService;
+
+    public ShardController(ShardRebalanceService shardRebalanceService) {
+        this.shardRebalanceService = shardRebalanceService;
+    }
+
+    @GetMapping
+    public List<ShardDto> getShards() {
+        return shardRebalanceService.getShards();
+    }
+
+    // dryRun=true only plans the moves.
+    @PostMapping("/rebalance")
+    public List<ShardMoveDto> rebalance(@RequestParam(defaultValue = "1000") int maxMoves,
+                                        @RequestParam(defaultValue = "false") boolean dryRun) {
+        return shardRebalanceService.rebalance(maxMoves, dryRun);
+    }
+}
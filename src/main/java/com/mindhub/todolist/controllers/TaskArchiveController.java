@@ -0,0 +1,98 @@
+package com.mindhub.todolist.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mindhub.todolist.dtos.ArchiveStatsDto;
+import com.mindhub.todolist.dtos.ArchivedTaskDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.services.TaskArchiveService;
+import com.mindhub.todolist.services.UsuarioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tasks/archive")
+@Profile("!reactive")
+public class TaskArchiveController {
+
+    @Autowired
+    private final TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private final UsuarioService usuarioService;
+
+    @Autowired
+    private final ObjectMapper objectMapper;
+
+    private final Duration completedAfter;
+
+    public TaskArchiveController(TaskArchiveService taskArchiveService, UsuarioService usuarioService,
+                                 ObjectMapper objectMapper,
+                                 @Value("${todolist.archive.completed-after}") Duration completedAfter) {
+        this.taskArchiveService = taskArchiveService;
+        this.usuarioService = usuarioService;
+        this.objectMapper = objectMapper;
+        this.completedAfter = completedAfter;
+    }
+
+    // The user is looked up first: once streaming has started a 404 can no longer be sent.
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportArchivedTasks(@RequestParam Long usuarioId) {
+        usuarioService.getUsuarioById(usuarioId);
+        ObjectWriter writer = objectMapper.writerFor(ArchivedTaskDto.class);
+        StreamingResponseBody body = outputStream -> taskArchiveService.exportArchivedTasks(usuarioId,
+                task -> writeLine(writer, outputStream, task));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static void writeLine(ObjectWriter writer, OutputStream outputStream, ArchivedTaskDto task) {
+        try {
+            outputStream.write(writer.writeValueAsBytes(task));
+            outputStream.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @GetMapping("/stats")
+    public ArchiveStatsDto getStats() {
+        return taskArchiveService.getStats();
+    }
+
+    // Runs the scheduled archival now; olderThan (an ISO-8601 duration such as P7D) overrides todolist.archive.completed-after.
+    @PostMapping
+    public long archiveCompleted(@RequestParam(required = false) Duration olderThan) {
+        return taskArchiveService.archiveCompletedBefore(
+                LocalDateTime.now().minus(olderThan != null ? olderThan : completedAfter));
+    }
+
+    @PostMapping("/restore")
+    public List<TaskDto> restoreByUsuarioId(@RequestParam Long usuarioId) {
+        usuarioService.getUsuarioById(usuarioId);
+        return taskArchiveService.restoreByUsuarioId(usuarioId);
+    }
+
+    @PostMapping("/restore/{taskId}")
+    public TaskDto restoreTask(@PathVariable Long taskId) {
+        return taskArchiveService.restoreTask(taskId);
+    }
+}
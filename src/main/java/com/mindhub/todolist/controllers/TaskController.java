@@ -1,21 +1,48 @@
 package com.mindhub.todolist.controllers;
 
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.CursorPageDto;
+import com.mindhub.todolist.dtos.IngestStatusDto;
 import com.mindhub.todolist.dtos.TaskDto;
 import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.dtos.TaskSearchResultDto;
+import com.mindhub.todolist.dtos.TaskStatsDto;
+import com.mindhub.todolist.dtos.TaskStatusPatchDto;
+import com.mindhub.todolist.exceptions.TaskNotFoundExc;
 import com.mindhub.todolist.models.Task;
 import com.mindhub.todolist.models.enums.TaskStatus;
 import com.mindhub.todolist.repositories.TaskRepository;
 import com.mindhub.todolist.repositories.UsuarioRepository;
+import com.mindhub.todolist.services.TaskFeedService;
+import com.mindhub.todolist.services.TaskSearchService;
 import com.mindhub.todolist.services.TaskService;
+import com.mindhub.todolist.services.TaskStatsService;
+import com.mindhub.todolist.services.TaskWriteBehindService;
 import com.mindhub.todolist.services.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 
 import java.util.List;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/tasks")
+@Profile("!reactive")
 public class TaskController {
 
     @Autowired
@@ -24,29 +51,144 @@ public class TaskController {
     @Autowired
     private final UsuarioService usuarioService;
 
-    public TaskController(TaskService taskService, UsuarioService usuarioService) {
+    @Autowired
+    private final TaskSearchService taskSearchService;
+
+    @Autowired
+    private final TaskStatsService taskStatsService;
+
+    @Autowired
+    private final TaskFeedService taskFeedService;
+
+    // Only present with the write-behind profile.
+    @Autowired
+    private final ObjectProvider<TaskWriteBehindService> taskWriteBehindService;
+
+    @Autowired
+    private final ObjectMapper objectMapper;
+
+    public TaskController(TaskService taskService, UsuarioService usuarioService,
+                          TaskSearchService taskSearchService, TaskStatsService taskStatsService,
+                          TaskFeedService taskFeedService, ObjectProvider<TaskWriteBehindService> taskWriteBehindService,
+                          ObjectMapper objectMapper) {
         this.taskService = taskService;
         this.usuarioService = usuarioService;
+        this.taskSearchService = taskSearchService;
+        this.taskStatsService = taskStatsService;
+        this.taskFeedService = taskFeedService;
+        this.taskWriteBehindService = taskWriteBehindService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public List<TaskDto> getAllTasks() {
+    public List<TaskDto> getAllTasks(WebRequest request) {
+        // Answers If-None-Match with 304 from one aggregate query, and sets the ETag otherwise.
+        if (request.checkNotModified(ETags.of(taskService.getTasksVersionSummary()))) {
+            return null;
+        }
         return taskService.getAllTasks();
     }
 
+    @GetMapping(params = "limit")
+    public CursorPageDto<TaskDto> getTasksPage(@RequestParam(required = false) String after,
+                                               @RequestParam int limit) {
+        return taskService.getTasksPage(after, limit);
+    }
+
+    @GetMapping("/search")
+    public TaskSearchResultDto searchTasks(@RequestParam String q,
+                                           @RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "20") int size) {
+        return taskSearchService.search(q, page, size);
+    }
+
+    @GetMapping("/stats")
+    public TaskStatsDto getStats() {
+        return taskStatsService.getStats();
+    }
+
+    @GetMapping("/stats/{usuarioId}")
+    public TaskStatsDto getStatsByUsuarioId(@PathVariable Long usuarioId) {
+        return taskStatsService.getStatsByUsuarioId(usuarioId);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(@RequestParam(required = false) Long usuarioId,
+                                  @RequestParam(required = false) TaskStatus status,
+                                  @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return taskFeedService.subscribe(usuarioId, status, lastEventId);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        ObjectWriter writer = objectMapper.writerFor(TaskDto.class);
+        StreamingResponseBody body = outputStream -> taskService.exportTasks(taskDto -> writeLine(writer, outputStream, taskDto));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static void writeLine(ObjectWriter writer, OutputStream outputStream, TaskDto taskDto) {
+        try {
+            outputStream.write(writer.writeValueAsBytes(taskDto));
+            outputStream.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
     @GetMapping("/{id}")
-    public TaskDto getTaskById(@PathVariable Long id) {
+    public TaskDto getTaskById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(ETags.of(taskService.getTaskVersion(id)))) {
+            return null;
+        }
         return taskService.getTaskById(id);
     }
 
     @PostMapping
-    public TaskDto createTask(@RequestBody TaskInputDto taskInputDto) {
-        return taskService.createTask(taskInputDto);
+    public ResponseEntity<?> createTask(@RequestBody TaskInputDto taskInputDto) {
+        TaskWriteBehindService writeBehind = taskWriteBehindService.getIfAvailable();
+        if (writeBehind != null) {
+            IngestStatusDto status = writeBehind.enqueue(taskInputDto);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/tasks/ingest/" + status.getTrackingId()))
+                    .body(status);
+        }
+        return ResponseEntity.ok(taskService.createTask(taskInputDto));
+    }
+
+    @GetMapping("/ingest/{trackingId}")
+    public IngestStatusDto getIngestStatus(@PathVariable String trackingId) {
+        TaskWriteBehindService writeBehind = taskWriteBehindService.getIfAvailable();
+        if (writeBehind == null) {
+            throw new TaskNotFoundExc("Write-behind mode is not enabled");
+        }
+        return writeBehind.getStatus(trackingId);
+    }
+
+    @PostMapping("/bulk")
+    public List<BulkResultDto> createTasks(@RequestBody List<TaskInputDto> taskInputDtos) {
+        return taskService.createTasks(taskInputDtos);
     }
 
     @PutMapping("/{id}")
-    public TaskDto updateTask(@PathVariable Long id, @RequestBody TaskInputDto taskInputDto) {
-        return taskService.updateTask(id, taskInputDto);
+    public ResponseEntity<TaskDto> updateTask(@PathVariable Long id, @RequestBody TaskInputDto taskInputDto,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskDto taskDto = taskService.updateTask(id, taskInputDto, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(taskDto.getVersion()))
+                .body(taskDto);
+    }
+
+    @PatchMapping("/{id}/status")
+    public int updateTaskStatus(@PathVariable Long id, @RequestBody TaskStatusPatchDto taskStatusPatchDto) {
+        return taskService.updateTaskStatus(id, taskStatusPatchDto.getStatus(), taskStatusPatchDto.getExpectedStatus());
+    }
+
+    @PatchMapping("/status")
+    public long updateTasksStatus(@RequestBody TaskStatusPatchDto taskStatusPatchDto) {
+        return taskService.updateTasksStatus(taskStatusPatchDto.getIds(), taskStatusPatchDto.getStatus(),
+                taskStatusPatchDto.getExpectedStatus());
     }
 
     @DeleteMapping("/{id}")
@@ -55,7 +197,10 @@ public class TaskController {
     }
 
     @GetMapping("/by-status/{taskStatus}")
-    public List<TaskDto> getFindByTaskStatus(@PathVariable TaskStatus taskStatus) {
+    public List<TaskDto> getFindByTaskStatus(@PathVariable TaskStatus taskStatus, WebRequest request) {
+        if (request.checkNotModified(ETags.of(taskService.getTasksVersionSummaryByStatus(taskStatus)))) {
+            return null;
+        }
         return taskService.getFindByTaskStatus(taskStatus);
     }
 
@@ -75,8 +220,8 @@ public class TaskController {
     }
 
     @DeleteMapping("/delete/{status}")
-    public void deleteByTaskStatus(@PathVariable TaskStatus status) {
-        taskService.deleteByTaskStatus(status);
+    public long deleteByTaskStatus(@PathVariable TaskStatus status) {
+        return taskService.deleteByTaskStatus(status);
     }
 
 }
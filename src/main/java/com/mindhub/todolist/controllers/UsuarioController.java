@@ -1,30 +1,50 @@
 package com.mindhub.todolist.controllers;
 
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.CursorPageDto;
 import com.mindhub.todolist.dtos.NewUsuarioDto;
 import com.mindhub.todolist.dtos.UsuarioDto;
 import com.mindhub.todolist.repositories.UsuarioRepository;
 import com.mindhub.todolist.services.UsuarioService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/user")
+@Profile("!reactive")
 public class UsuarioController {
 
     @Autowired
     private UsuarioService usuarioService;
 
     @GetMapping
-    public List<UsuarioDto> getAllUsuarios() {
+    public List<UsuarioDto> getAllUsuarios(WebRequest request) {
+        if (request.checkNotModified(ETags.of(usuarioService.getUsuariosVersionSummary()))) {
+            return null;
+        }
         return usuarioService.getAllUsuarios();
     }
 
+    @GetMapping(params = "limit")
+    public CursorPageDto<UsuarioDto> getUsuariosPage(@RequestParam(required = false) String after,
+                                                     @RequestParam int limit) {
+        return usuarioService.getUsuariosPage(after, limit);
+    }
+
     @GetMapping("/{id}")
-    public UsuarioDto getUsuarioById(@PathVariable Long id) {
-        return usuarioService.getUsuarioById(id);
+    public UsuarioDto getUsuarioById(@PathVariable Long id, WebRequest request) {
+        // The DTO usually comes from the usuariosById cache, so a 304 costs no query and no serialization.
+        UsuarioDto usuarioDto = usuarioService.getUsuarioById(id);
+        if (request.checkNotModified(ETags.of(usuarioDto.getVersion()))) {
+            return null;
+        }
+        return usuarioDto;
     }
 
     @PostMapping
@@ -32,9 +52,18 @@ public class UsuarioController {
         return usuarioService.createUsuario(newUsuarioDto);
     }
 
+    @PostMapping("/bulk")
+    public List<BulkResultDto> createUsuarios(@RequestBody List<NewUsuarioDto> newUsuarioDtos) {
+        return usuarioService.createUsuarios(newUsuarioDtos);
+    }
+
     @PutMapping("/{id}")
-    public UsuarioDto updateUsuario(@PathVariable Long id, @RequestBody UsuarioDto usuarioDto) {
-        return usuarioService.updateUsuario(id, usuarioDto);
+    public ResponseEntity<UsuarioDto> updateUsuario(@PathVariable Long id, @RequestBody UsuarioDto usuarioDto,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UsuarioDto updatedUsuario = usuarioService.updateUsuario(id, usuarioDto, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(updatedUsuario.getVersion()))
+                .body(updatedUsuario);
     }
 
     @DeleteMapping("/{id}")
@@ -59,7 +88,7 @@ public class UsuarioController {
     }
 
     @DeleteMapping("/delete/{email}")
-    public void deleteByEmail(@PathVariable String email) {
-        usuarioService.deleteByEmail(email);
+    public long deleteByEmail(@PathVariable String email) {
+        return usuarioService.deleteByEmail(email);
     }
 }
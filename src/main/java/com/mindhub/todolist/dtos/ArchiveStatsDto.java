@@ -0,0 +1,24 @@
+package com.mindhub.todolist.dtos;
+
+public class ArchiveStatsDto {
+
+    private long segments, tasks, bytes;
+
+    public ArchiveStatsDto(long segments, long tasks, long bytes) {
+        this.segments = segments;
+        this.tasks = tasks;
+        this.bytes = bytes;
+    }
+
+    public long getSegments() {
+        return segments;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,55 @@
+package com.mindhub.todolist.dtos;
+
+import java.time.LocalDateTime;
+
+// One line of an archive segment, and of the archive read endpoint; archived tasks are always COMPLETED.
+public class ArchivedTaskDto {
+
+    private Long id;
+
+    private String title, description;
+
+    private Long usuarioId;
+
+    // Restored tasks continue from it, so an ETag handed out before archiving cannot match the restored row.
+    private Long version;
+
+    private LocalDateTime updatedAt;
+
+    public ArchivedTaskDto() {
+    }
+
+    public ArchivedTaskDto(Long id, String title, String description, Long usuarioId, Long version,
+                           LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.usuarioId = usuarioId;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,37 @@
+package com.mindhub.todolist.dtos;
+
+public class BulkResultDto {
+
+    private int index;
+
+    private Long id;
+
+    private String error;
+
+    public BulkResultDto(int index, Long id, String error) {
+        this.index = index;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BulkResultDto created(int index, Long id) {
+        return new BulkResultDto(index, id, null);
+    }
+
+    public static BulkResultDto failed(int index, String error) {
+        return new BulkResultDto(index, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.mindhub.todolist.dtos;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public class CacheStatsDto {
+
+    private String name;
+
+    private long size, hitCount, missCount, evictionCount;
+
+    private double hitRate;
+
+    public CacheStatsDto(String name, long size, CacheStats stats) {
+        this.name = name;
+        this.size = size;
+        hitCount = stats.hitCount();
+        missCount = stats.missCount();
+        evictionCount = stats.evictionCount();
+        hitRate = stats.hitRate();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.mindhub.todolist.dtos;
+
+public class DurabilityStatusDto {
+
+    private long appendedLsn, syncedLsn, replayStartLsn;
+
+    private int segments;
+
+    private long logBytes;
+
+    // Null until the first snapshot of this run.
+    private SnapshotDto lastSnapshot;
+
+    private RecoveryDto recovery;
+
+    public DurabilityStatusDto(long appendedLsn, long syncedLsn, long replayStartLsn, int segments, long logBytes,
+                               SnapshotDto lastSnapshot, RecoveryDto recovery) {
+        this.appendedLsn = appendedLsn;
+        this.syncedLsn = syncedLsn;
+        this.replayStartLsn = replayStartLsn;
+        this.segments = segments;
+        this.logBytes = logBytes;
+        this.lastSnapshot = lastSnapshot;
+        this.recovery = recovery;
+    }
+
+    public long getAppendedLsn() {
+        return appendedLsn;
+    }
+
+    public long getSyncedLsn() {
+        return syncedLsn;
+    }
+
+    public long getReplayStartLsn() {
+        return replayStartLsn;
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+
+    public long getLogBytes() {
+        return logBytes;
+    }
+
+    public SnapshotDto getLastSnapshot() {
+        return lastSnapshot;
+    }
+
+    public RecoveryDto getRecovery() {
+        return recovery;
+    }
+}
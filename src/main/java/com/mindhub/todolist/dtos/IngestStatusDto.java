@@ -0,0 +1,52 @@
+package com.mindhub.todolist.dtos;
+
+// Tracking record of a task accepted by the write-behind queue.
+public class IngestStatusDto {
+
+    public enum State {
+        QUEUED,
+        CREATED,
+        FAILED
+    }
+
+    private String trackingId;
+
+    private State state;
+
+    private Long taskId;
+
+    private String error;
+
+    public IngestStatusDto(String trackingId, State state, Long taskId, String error) {
+        this.trackingId = trackingId;
+        this.state = state;
+        this.taskId = taskId;
+        this.error = error;
+    }
+
+    public static IngestStatusDto queued(String trackingId) {
+        return new IngestStatusDto(trackingId, State.QUEUED, null, null);
+    }
+
+    public static IngestStatusDto of(String trackingId, BulkResultDto result) {
+        return result.getError() == null
+                ? new IngestStatusDto(trackingId, State.CREATED, result.getId(), null)
+                : new IngestStatusDto(trackingId, State.FAILED, null, result.getError());
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
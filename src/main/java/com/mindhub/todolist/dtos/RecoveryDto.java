@@ -0,0 +1,38 @@
+package com.mindhub.todolist.dtos;
+
+// What the durable profile rebuilt the database from at startup.
+public class RecoveryDto {
+
+    // Null when there was no snapshot and the whole log was replayed.
+    private Long snapshotLsn;
+
+    private long snapshotRows, logRows, transactions, millis;
+
+    public RecoveryDto(Long snapshotLsn, long snapshotRows, long logRows, long transactions, long millis) {
+        this.snapshotLsn = snapshotLsn;
+        this.snapshotRows = snapshotRows;
+        this.logRows = logRows;
+        this.transactions = transactions;
+        this.millis = millis;
+    }
+
+    public Long getSnapshotLsn() {
+        return snapshotLsn;
+    }
+
+    public long getSnapshotRows() {
+        return snapshotRows;
+    }
+
+    public long getLogRows() {
+        return logRows;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+}
@@ -0,0 +1,26 @@
+package com.mindhub.todolist.dtos;
+
+public class ShardDto {
+
+    private int shard;
+
+    private long usuarios, tasks;
+
+    public ShardDto(int shard, long usuarios, long tasks) {
+        this.shard = shard;
+        this.usuarios = usuarios;
+        this.tasks = tasks;
+    }
+
+    public int getShard() {
+        return shard;
+    }
+
+    public long getUsuarios() {
+        return usuarios;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+}
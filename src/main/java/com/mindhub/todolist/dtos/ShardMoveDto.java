@@ -0,0 +1,33 @@
+package com.mindhub.todolist.dtos;
+
+public class ShardMoveDto {
+
+    private Long usuarioId;
+
+    private int fromShard, toShard;
+
+    private long tasks;
+
+    public ShardMoveDto(Long usuarioId, int fromShard, int toShard, long tasks) {
+        this.usuarioId = usuarioId;
+        this.fromShard = fromShard;
+        this.toShard = toShard;
+        this.tasks = tasks;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public int getFromShard() {
+        return fromShard;
+    }
+
+    public int getToShard() {
+        return toShard;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+}
@@ -0,0 +1,41 @@
+package com.mindhub.todolist.dtos;
+
+import java.time.LocalDateTime;
+
+public class SnapshotDto {
+
+    // Recovery replays the log from here on top of the snapshot.
+    private long lsn;
+
+    private long rows, bytes, millis;
+
+    private LocalDateTime takenAt;
+
+    public SnapshotDto(long lsn, long rows, long bytes, long millis, LocalDateTime takenAt) {
+        this.lsn = lsn;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.millis = millis;
+        this.takenAt = takenAt;
+    }
+
+    public long getLsn() {
+        return lsn;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+}
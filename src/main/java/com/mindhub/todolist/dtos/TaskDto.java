@@ -1,8 +1,8 @@
 package com.mindhub.todolist.dtos;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.mindhub.todolist.models.Task;
-import com.mindhub.todolist.models.Usuario;
 import com.mindhub.todolist.models.enums.TaskStatus;
 
 
@@ -14,11 +14,22 @@ public class TaskDto {
 
     private TaskStatus tasksStatus;
 
+    // Sent as the ETag header rather than in the body; null for list projections.
+    private Long version;
+
     public TaskDto(Task task) {
         id = task.getId();
         title = task.getTitle();
         description = task.getDescription();
         tasksStatus = task.getTaskStatus();
+        version = task.getVersion();
+    }
+
+    public TaskDto(Long id, String title, String description, TaskStatus tasksStatus) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.tasksStatus = tasksStatus;
     }
 
     public Long getId() {
@@ -37,4 +48,9 @@ public class TaskDto {
         return tasksStatus;
     }
 
+    @JsonIgnore
+    public Long getVersion() {
+        return version;
+    }
+
 }
@@ -0,0 +1,71 @@
+package com.mindhub.todolist.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mindhub.todolist.models.enums.TaskStatus;
+
+import java.util.List;
+
+// Payload of one event of GET /api/tasks/stream; BULK_DELETED, STATUS_CHANGED, ARCHIVED and RESTORED carry ids, a status or users instead of a task.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskFeedEventDto {
+
+    private String type;
+
+    private Long taskId;
+
+    private List<Long> taskIds;
+
+    private Long usuarioId;
+
+    private TaskDto task;
+
+    private TaskStatus taskStatus;
+
+    private List<Long> usuarioIds;
+
+    private Long count;
+
+    public TaskFeedEventDto(String type, Long taskId, List<Long> taskIds, Long usuarioId, TaskDto task,
+                            TaskStatus taskStatus, List<Long> usuarioIds, Long count) {
+        this.type = type;
+        this.taskId = taskId;
+        this.taskIds = taskIds;
+        this.usuarioId = usuarioId;
+        this.task = task;
+        this.taskStatus = taskStatus;
+        this.usuarioIds = usuarioIds;
+        this.count = count;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public TaskDto getTask() {
+        return task;
+    }
+
+    public TaskStatus getTaskStatus() {
+        return taskStatus;
+    }
+
+    public List<Long> getUsuarioIds() {
+        return usuarioIds;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,37 @@
+package com.mindhub.todolist.dtos;
+
+import java.util.List;
+
+public class TaskSearchResultDto {
+
+    private List<TaskDto> items;
+
+    private int total;
+
+    private int page;
+
+    private int size;
+
+    public TaskSearchResultDto(List<TaskDto> items, int total, int page, int size) {
+        this.items = items;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+    }
+
+    public List<TaskDto> getItems() {
+        return items;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
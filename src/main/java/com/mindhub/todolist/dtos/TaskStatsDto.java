@@ -0,0 +1,32 @@
+package com.mindhub.todolist.dtos;
+
+import com.mindhub.todolist.models.enums.TaskStatus;
+
+import java.util.Map;
+
+public class TaskStatsDto {
+
+    private Long usuarioId;
+
+    private long total;
+
+    private Map<TaskStatus, Long> byStatus;
+
+    public TaskStatsDto(Long usuarioId, long total, Map<TaskStatus, Long> byStatus) {
+        this.usuarioId = usuarioId;
+        this.total = total;
+        this.byStatus = byStatus;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<TaskStatus, Long> getByStatus() {
+        return byStatus;
+    }
+}
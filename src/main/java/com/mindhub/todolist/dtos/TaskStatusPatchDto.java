@@ -0,0 +1,37 @@
+package com.mindhub.todolist.dtos;
+
+import com.mindhub.todolist.models.enums.TaskStatus;
+
+import java.util.List;
+
+// Body of the status PATCH endpoints; ids is only read by the bulk variant.
+public class TaskStatusPatchDto {
+
+    private List<Long> ids;
+
+    private TaskStatus status;
+
+    // When set, only tasks currently in this status are changed.
+    private TaskStatus expectedStatus;
+
+    public TaskStatusPatchDto() {
+    }
+
+    public TaskStatusPatchDto(List<Long> ids, TaskStatus status, TaskStatus expectedStatus) {
+        this.ids = ids;
+        this.status = status;
+        this.expectedStatus = expectedStatus;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public TaskStatus getExpectedStatus() {
+        return expectedStatus;
+    }
+}
@@ -1,5 +1,6 @@
 package com.mindhub.todolist.dtos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.mindhub.todolist.models.Usuario;
 
 public class UsuarioDto {
@@ -8,6 +9,9 @@ public class UsuarioDto {
 
     private String username, email;
 
+    // Sent as the ETag header rather than in the body.
+    private Long version;
+
     public UsuarioDto() {
     }
 
@@ -15,6 +19,7 @@ public class UsuarioDto {
         id = usuario.getId();
         username = usuario.getUsername();
         email = usuario.getEmail();
+        version = usuario.getVersion();
     }
 
     public Long getId() {
@@ -29,4 +34,9 @@ public class UsuarioDto {
         return email;
     }
 
+    @JsonIgnore
+    public Long getVersion() {
+        return version;
+    }
+
 }
@@ -0,0 +1,73 @@
+package com.mindhub.todolist.events;
+
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+
+// Published by TaskServiceImpl for every single-task write; listeners run after the transaction commits.
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+
+    private final Long taskId;
+
+    private final TaskDto task;
+
+    private final Long usuarioId;
+
+    // State before the write, null for CREATED.
+    private final TaskStatus previousStatus;
+
+    private final Long previousUsuarioId;
+
+    public TaskChangedEvent(Type type, Long taskId, TaskDto task, Long usuarioId,
+                            TaskStatus previousStatus, Long previousUsuarioId) {
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+        this.usuarioId = usuarioId;
+        this.previousStatus = previousStatus;
+        this.previousUsuarioId = previousUsuarioId;
+    }
+
+    public static TaskChangedEvent created(TaskDto task, Long usuarioId) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), task, usuarioId, null, null);
+    }
+
+    public static TaskChangedEvent updated(TaskDto task, Long usuarioId, TaskStatus previousStatus, Long previousUsuarioId) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), task, usuarioId, previousStatus, previousUsuarioId);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId, TaskStatus previousStatus, Long previousUsuarioId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null, null, previousStatus, previousUsuarioId);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public TaskDto getTask() {
+        return task;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public TaskStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Long getPreviousUsuarioId() {
+        return previousUsuarioId;
+    }
+}
@@ -0,0 +1,41 @@
+package com.mindhub.todolist.events;
+
+import com.mindhub.todolist.models.enums.TaskStatus;
+
+import java.util.List;
+
+// Published for the status PATCH endpoints, which update rows without loading them: listeners get
+// the requested ids and the guard, not the previous state of each task.
+public class TaskStatusChangedEvent {
+
+    private final List<Long> taskIds;
+
+    private final TaskStatus taskStatus;
+
+    private final TaskStatus expectedStatus;
+
+    private final long count;
+
+    public TaskStatusChangedEvent(List<Long> taskIds, TaskStatus taskStatus, TaskStatus expectedStatus, long count) {
+        this.taskIds = taskIds;
+        this.taskStatus = taskStatus;
+        this.expectedStatus = expectedStatus;
+        this.count = count;
+    }
+
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    public TaskStatus getTaskStatus() {
+        return taskStatus;
+    }
+
+    public TaskStatus getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,47 @@
+package com.mindhub.todolist.events;
+
+import com.mindhub.todolist.dtos.TaskDto;
+
+import java.util.List;
+
+// Published by TaskArchiveServiceImpl when completed tasks of one user leave the task table or are put back.
+public class TasksArchivedEvent {
+
+    public enum Type {
+        ARCHIVED,
+        RESTORED
+    }
+
+    private final Type type;
+
+    private final Long usuarioId;
+
+    // Always COMPLETED.
+    private final List<TaskDto> tasks;
+
+    public TasksArchivedEvent(Type type, Long usuarioId, List<TaskDto> tasks) {
+        this.type = type;
+        this.usuarioId = usuarioId;
+        this.tasks = tasks;
+    }
+
+    public static TasksArchivedEvent archived(Long usuarioId, List<TaskDto> tasks) {
+        return new TasksArchivedEvent(Type.ARCHIVED, usuarioId, tasks);
+    }
+
+    public static TasksArchivedEvent restored(Long usuarioId, List<TaskDto> tasks) {
+        return new TasksArchivedEvent(Type.RESTORED, usuarioId, tasks);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public List<TaskDto> getTasks() {
+        return tasks;
+    }
+}
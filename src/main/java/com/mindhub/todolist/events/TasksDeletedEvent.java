@@ -0,0 +1,41 @@
+package com.mindhub.todolist.events;
+
+import com.mindhub.todolist.models.enums.TaskStatus;
+
+import java.util.List;
+
+// Published for set-based deletes: every task with a status, or every task of some users.
+public class TasksDeletedEvent {
+
+    private final TaskStatus taskStatus;
+
+    private final List<Long> usuarioIds;
+
+    private final long count;
+
+    public TasksDeletedEvent(TaskStatus taskStatus, List<Long> usuarioIds, long count) {
+        this.taskStatus = taskStatus;
+        this.usuarioIds = usuarioIds;
+        this.count = count;
+    }
+
+    public static TasksDeletedEvent byStatus(TaskStatus taskStatus, long count) {
+        return new TasksDeletedEvent(taskStatus, List.of(), count);
+    }
+
+    public static TasksDeletedEvent byUsuarios(List<Long> usuarioIds, long count) {
+        return new TasksDeletedEvent(null, usuarioIds, count);
+    }
+
+    public TaskStatus getTaskStatus() {
+        return taskStatus;
+    }
+
+    public List<Long> getUsuarioIds() {
+        return usuarioIds;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,17 @@
+package com.mindhub.todolist.events;
+
+import java.util.List;
+
+// Published by UsuarioServiceImpl when users are created or renamed.
+public class UsuariosSavedEvent {
+
+    private final List<String> usernames;
+
+    public UsuariosSavedEvent(List<String> usernames) {
+        this.usernames = usernames;
+    }
+
+    public List<String> getUsernames() {
+        return usernames;
+    }
+}
@@ -0,0 +1,7 @@
+package com.mindhub.todolist.exceptions;
+
+public class CrossShardMoveExc extends RuntimeException {
+    public CrossShardMoveExc(String message) {
+        super(message);
+    }
+}
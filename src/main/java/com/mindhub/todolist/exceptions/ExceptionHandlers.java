@@ -1,5 +1,9 @@
 package com.mindhub.todolist.exceptions;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -8,24 +12,73 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class ExceptionHandlers {
 
+    @Autowired
+    private final MeterRegistry meterRegistry;
+
+    public ExceptionHandlers(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(UserNotFoundExc.class)
     public ResponseEntity<String> handleUserNotFoundException(UserNotFoundExc ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+        return handled(ex, ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(UserAlreadyExistsExc.class)
     public ResponseEntity<String> handleUserAlreadyExistsException(UserAlreadyExistsExc ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+        return handled(ex, ex.getMessage(), HttpStatus.CONFLICT);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralException(Exception ex) {
-        return new ResponseEntity<>("Internal server error: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        return handled(ex, "Internal server error: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @ExceptionHandler(TaskNotFoundExc.class)
     public ResponseEntity<String> handleTaskNotFoundException(TaskNotFoundExc ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+        return handled(ex, ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidCursorExc.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorExc ex) {
+        return handled(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidStatusChangeExc.class)
+    public ResponseEntity<String> handleInvalidStatusChangeException(InvalidStatusChangeExc ex) {
+        return handled(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(VersionConflictExc.class)
+    public ResponseEntity<String> handleVersionConflictException(VersionConflictExc ex) {
+        return handled(ex, ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // Another request updated the same row between our read and our write.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return handled(ex, "The resource was modified concurrently, reload it and retry", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(CrossShardMoveExc.class)
+    public ResponseEntity<String> handleCrossShardMoveException(CrossShardMoveExc ex) {
+        return handled(ex, ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IngestQueueFullExc.class)
+    public ResponseEntity<String> handleIngestQueueFullException(IngestQueueFullExc ex) {
+        ResponseEntity<String> response = handled(ex, ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    private ResponseEntity<String> handled(Exception ex, String body, HttpStatus status) {
+        meterRegistry.counter("todolist.exceptions.handled",
+                        "exception", ex.getClass().getSimpleName(),
+                        "status", String.valueOf(status.value()))
+                .increment();
+        return new ResponseEntity<>(body, status);
     }
 
 }
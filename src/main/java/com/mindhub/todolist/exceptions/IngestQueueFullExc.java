@@ -0,0 +1,7 @@
+package com.mindhub.todolist.exceptions;
+
+public class IngestQueueFullExc extends RuntimeException {
+    public IngestQueueFullExc(String message) {
+        super(message);
+    }
+}
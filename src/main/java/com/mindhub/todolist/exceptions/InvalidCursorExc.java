@@ -0,0 +1,7 @@
+package com.mindhub.todolist.exceptions;
+
+public class InvalidCursorExc extends RuntimeException {
+    public InvalidCursorExc(String message) {
+        super(message);
+    }
+}
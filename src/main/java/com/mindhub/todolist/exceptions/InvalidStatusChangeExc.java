@@ -0,0 +1,7 @@
+package com.mindhub.todolist.exceptions;
+
+public class InvalidStatusChangeExc extends RuntimeException {
+    public InvalidStatusChangeExc(String message) {
+        super(message);
+    }
+}
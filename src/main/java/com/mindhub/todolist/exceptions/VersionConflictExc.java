@@ -0,0 +1,7 @@
+package com.mindhub.todolist.exceptions;
+
+public class VersionConflictExc extends RuntimeException {
+    public VersionConflictExc(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,11 @@ package com.mindhub.todolist.models;
 
 import com.mindhub.todolist.models.enums.TaskStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
 
 @Entity
 public class Task {
@@ -12,12 +17,21 @@ public class Task {
 
     private String title, description;
 
+    // Plain VARCHAR instead of H2's native ENUM so the R2DBC driver can bind it too.
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private TaskStatus taskStatus;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Usuario usuario;
 
+    @Version
+    private Long version;
+
+    // Set on every write, so the archiver can tell how long a task has been left completed.
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
     public Task() {
     }
 
@@ -63,6 +77,14 @@ public class Task {
         this.usuario = usuario;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     @Override
     public String toString() {
         return "Task{" +
@@ -0,0 +1,70 @@
+package com.mindhub.todolist.models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Completed tasks of one user moved out of the task table by the archiver, as gzip-compressed NDJSON.
+// There is no foreign key to Usuario so the archive stays out of every query on the hot tables.
+@Entity
+@Table(indexes = @Index(columnList = "usuarioId"))
+public class TaskArchiveSegment {
+
+    public static final int MAX_PAYLOAD_BYTES = 1_000_000;
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    private Long usuarioId;
+
+    // Range of the task ids inside, so restoring one task only opens the segments that can hold it.
+    private Long firstTaskId, lastTaskId;
+
+    private int taskCount;
+
+    private LocalDateTime archivedAt;
+
+    @Column(length = MAX_PAYLOAD_BYTES)
+    private byte[] payload;
+
+    public TaskArchiveSegment() {
+    }
+
+    public TaskArchiveSegment(Long usuarioId, Long firstTaskId, Long lastTaskId, int taskCount, byte[] payload) {
+        this.usuarioId = usuarioId;
+        this.firstTaskId = firstTaskId;
+        this.lastTaskId = lastTaskId;
+        this.taskCount = taskCount;
+        this.payload = payload;
+        this.archivedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public Long getFirstTaskId() {
+        return firstTaskId;
+    }
+
+    public Long getLastTaskId() {
+        return lastTaskId;
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+}
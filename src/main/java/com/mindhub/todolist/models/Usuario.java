@@ -9,7 +9,7 @@ import java.util.Set;
 public class Usuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue
     private Long id;
 
     private String username, password, email;
@@ -17,6 +17,9 @@ public class Usuario {
     @OneToMany(mappedBy = "usuario", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Task> tasks = new HashSet<>();
 
+    @Version
+    private Long version;
+
     public Usuario() {
     }
 
@@ -54,6 +57,10 @@ public class Usuario {
         this.email = email;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void addTask(Task task) {
         task.setUsuario(this);
         tasks.add(task);
@@ -0,0 +1,89 @@
+package com.mindhub.todolist.models.reactive;
+
+import com.mindhub.todolist.models.enums.TaskStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+// R2DBC mapping of the table JPA creates for Task, with the user kept as a plain foreign key.
+@Table("task")
+public class TaskRecord {
+
+    @Id
+    private Long id;
+
+    private String title, description;
+
+    private TaskStatus taskStatus;
+
+    private Long usuarioId;
+
+    // Same column as Task.version, so writes from either stack invalidate the other's ETags.
+    @Version
+    private Long version;
+
+    // Same column as Task.updatedAt, which the archiver reads.
+    private LocalDateTime updatedAt;
+
+    public TaskRecord() {
+    }
+
+    public TaskRecord(Long id, String title, String description, TaskStatus taskStatus, Long usuarioId) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.taskStatus = taskStatus;
+        this.usuarioId = usuarioId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public TaskStatus getTaskStatus() {
+        return taskStatus;
+    }
+
+    public void setTaskStatus(TaskStatus taskStatus) {
+        this.taskStatus = taskStatus;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.mindhub.todolist.repositories;
+
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.models.reactive.TaskRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public interface ReactiveTaskRepository extends R2dbcRepository<TaskRecord, Long> {
+
+    Flux<TaskRecord> findAllByOrderByIdAsc();
+
+    Flux<TaskRecord> findByTaskStatus(TaskStatus status);
+
+    Mono<Boolean> existsByTitle(String title);
+
+    Mono<Long> countByUsuarioId(Long usuarioId);
+
+    Flux<TaskRecord> findByTitleOrderByIdAsc(String title);
+
+    Flux<TaskRecord> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    Mono<Long> deleteByTaskStatus(TaskStatus status);
+
+    // Hibernate's pooled optimizer never hands out the value it did not fetch itself, so ids taken here cannot collide.
+    @Query("SELECT NEXT VALUE FOR task_seq")
+    Mono<Long> nextId();
+
+    @Query("SELECT COUNT(*) > 0 FROM usuario WHERE id = :usuarioId")
+    Mono<Boolean> existsUsuario(Long usuarioId);
+
+    @Query("SELECT id FROM usuario WHERE id IN (:usuarioIds)")
+    Flux<Long> findExistingUsuarioIds(Collection<Long> usuarioIds);
+}
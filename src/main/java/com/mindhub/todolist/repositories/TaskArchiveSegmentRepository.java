@@ -0,0 +1,64 @@
+package com.mindhub.todolist.repositories;
+
+import com.mindhub.todolist.models.TaskArchiveSegment;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+@Repository
+public interface TaskArchiveSegmentRepository extends JpaRepository<TaskArchiveSegment, Long> {
+
+    // Segments are up to MAX_PAYLOAD_BYTES each, so only a few are fetched at a time.
+    int STREAM_FETCH_SIZE = 8;
+
+    @Query("select s from TaskArchiveSegment s where s.usuarioId = :usuarioId order by s.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<TaskArchiveSegment> streamByUsuarioId(Long usuarioId);
+
+    @Query("select s from TaskArchiveSegment s order by s.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<TaskArchiveSegment> streamAll();
+
+    List<TaskArchiveSegment> findByUsuarioIdOrderByIdAsc(Long usuarioId);
+
+    @Query("select s from TaskArchiveSegment s where s.firstTaskId <= :taskId and s.lastTaskId >= :taskId")
+    List<TaskArchiveSegment> findCoveringTaskId(Long taskId);
+
+    // Native because HQL has no length function for binary columns.
+    @Query(value = "select count(*) as segments, coalesce(sum(task_count), 0) as tasks, " +
+            "coalesce(sum(octet_length(payload)), 0) as bytes from task_archive_segment", nativeQuery = true)
+    Totals summarize();
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from TaskArchiveSegment s where s.usuarioId = :usuarioId")
+    int deleteByUsuarioId(Long usuarioId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from TaskArchiveSegment s where s.usuarioId in :usuarioIds")
+    int deleteByUsuarioIdIn(Collection<Long> usuarioIds);
+
+    interface Totals {
+
+        Long getSegments();
+
+        Long getTasks();
+
+        Long getBytes();
+    }
+}
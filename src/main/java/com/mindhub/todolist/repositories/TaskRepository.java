@@ -1,16 +1,34 @@
 package com.mindhub.todolist.repositories;
 
+import com.mindhub.todolist.dtos.TaskDto;
 import com.mindhub.todolist.models.Task;
 import com.mindhub.todolist.models.Usuario;
 import com.mindhub.todolist.models.enums.TaskStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    int EXPORT_FETCH_SIZE = 500;
+
     List<Task> findByTaskStatus(TaskStatus status);
 
     boolean existsByTitle(String title);
@@ -19,7 +37,98 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
     List<Task> findByTitleOrderByIdAsc(String title);
 
-    void deleteByTaskStatus(TaskStatus status);
-
     boolean existsByTaskStatus(TaskStatus taskStatus);
+
+    // Projections select only the TaskDto columns, so the list endpoints never touch Usuario.
+    @Query("select new com.mindhub.todolist.dtos.TaskDto(t.id, t.title, t.description, t.taskStatus) from Task t")
+    List<TaskDto> findAllTaskDtos();
+
+    @Query("select new com.mindhub.todolist.dtos.TaskDto(t.id, t.title, t.description, t.taskStatus) " +
+            "from Task t where t.taskStatus = :status")
+    List<TaskDto> findTaskDtosByTaskStatus(TaskStatus status);
+
+    @Query("select new com.mindhub.todolist.dtos.TaskDto(t.id, t.title, t.description, t.taskStatus) " +
+            "from Task t where t.title = :title order by t.id")
+    List<TaskDto> findTaskDtosByTitleOrderByIdAsc(String title);
+
+    @Query("select new com.mindhub.todolist.dtos.TaskDto(t.id, t.title, t.description, t.taskStatus) " +
+            "from Task t where t.id > :id order by t.id")
+    List<TaskDto> findTaskDtosByIdGreaterThan(Long id, Limit limit);
+
+    @Query("select t from Task t order by t.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamAllByOrderByIdAsc();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("select t.title from Task t where t.title is not null")
+    Stream<String> streamAllTitles();
+
+    @Query("select t.id from Task t where t.taskStatus = :status and t.id > :id order by t.id")
+    List<Long> findIdsByTaskStatusAndIdGreaterThan(TaskStatus status, Long id, Limit limit);
+
+    // Runs in its own transaction so a large delete is committed page by page.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.taskStatus = :status and t.id >= :fromId and t.id < :toId")
+    int deleteByTaskStatusAndIdRange(TaskStatus status, Long fromId, Long toId);
+
+    // Status changes as one UPDATE each, bumping the version so ETags stay valid and the timestamp the archiver reads.
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.taskStatus = :status, t.version = t.version + 1, t.updatedAt = local datetime " +
+            "where t.id = :id and (:expectedStatus is null or t.taskStatus = :expectedStatus)")
+    int updateStatusById(Long id, TaskStatus status, TaskStatus expectedStatus);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.taskStatus = :status, t.version = t.version + 1, t.updatedAt = local datetime " +
+            "where t.id in :ids and (:expectedStatus is null or t.taskStatus = :expectedStatus)")
+    int updateStatusByIdIn(Collection<Long> ids, TaskStatus status, TaskStatus expectedStatus);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.usuario.id in (select u.id from Usuario u where u.email = :email)")
+    int deleteByUsuarioEmail(String email);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.usuario.id = :usuarioId")
+    int deleteByUsuarioId(Long usuarioId);
+
+    @Query("select distinct t.usuario.id from Task t where t.taskStatus = :status and t.updatedAt < :before " +
+            "and t.usuario is not null order by t.usuario.id")
+    List<Long> findUsuarioIdsWithTasksUpdatedBefore(TaskStatus status, LocalDateTime before);
+
+    // Locks the rows it returns: a write to one of them waits for the archiver and then finds it gone.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.usuario.id in :usuarioIds and t.taskStatus = :status " +
+            "and t.updatedAt < :before order by t.usuario.id, t.id")
+    List<Task> findForArchive(Collection<Long> usuarioIds, TaskStatus status, LocalDateTime before);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
+
+    @Query("select t.usuario.id as usuarioId, t.taskStatus as taskStatus, count(t) as total " +
+            "from Task t group by t.usuario.id, t.taskStatus")
+    List<StatusCount> countGroupByUsuarioIdAndTaskStatus();
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select count(t) as count, coalesce(sum(t.id), 0) as idSum, coalesce(sum(t.version), 0) as versionSum " +
+            "from Task t")
+    VersionSummary summarizeVersions();
+
+    @Query("select count(t) as count, coalesce(sum(t.id), 0) as idSum, coalesce(sum(t.version), 0) as versionSum " +
+            "from Task t where t.taskStatus = :status")
+    VersionSummary summarizeVersionsByTaskStatus(TaskStatus status);
+
+    interface StatusCount {
+
+        Long getUsuarioId();
+
+        TaskStatus getTaskStatus();
+
+        Long getTotal();
+    }
 }
@@ -1,10 +1,21 @@
 package com.mindhub.todolist.repositories;
 
 import com.mindhub.todolist.models.Usuario;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
@@ -15,6 +26,24 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     long countByEmail(String email);
 
-    void deleteByEmail(String email);
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Usuario u where u.email = :email")
+    int deleteByEmail(String email);
+
+    List<Usuario> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select u.id from Usuario u where u.email = :email")
+    List<Long> findIdsByEmail(String email);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + TaskRepository.EXPORT_FETCH_SIZE))
+    @Query("select u.username from Usuario u where u.username is not null")
+    Stream<String> streamAllUsernames();
+
+    @Query("select u.username from Usuario u where u.username in :usernames")
+    Set<String> findExistingUsernames(Collection<String> usernames);
+
+    @Query("select count(u) as count, coalesce(sum(u.id), 0) as idSum, coalesce(sum(u.version), 0) as versionSum " +
+            "from Usuario u")
+    VersionSummary summarizeVersions();
 
 }
@@ -0,0 +1,47 @@
+package com.mindhub.todolist.repositories;
+
+import java.util.List;
+
+// Aggregate over a set of rows that changes whenever a row is added, removed or updated; used for list ETags.
+public interface VersionSummary {
+
+    Long getCount();
+
+    Long getIdSum();
+
+    Long getVersionSum();
+
+    // Combines the summaries of disjoint row sets, such as one per shard.
+    static VersionSummary sum(List<VersionSummary> summaries) {
+        if (summaries.size() == 1) {
+            return summaries.get(0);
+        }
+        long count = 0;
+        long idSum = 0;
+        long versionSum = 0;
+        for (VersionSummary summary : summaries) {
+            count += summary.getCount();
+            idSum += summary.getIdSum();
+            versionSum += summary.getVersionSum();
+        }
+        long totalCount = count;
+        long totalIdSum = idSum;
+        long totalVersionSum = versionSum;
+        return new VersionSummary() {
+            @Override
+            public Long getCount() {
+                return totalCount;
+            }
+
+            @Override
+            public Long getIdSum() {
+                return totalIdSum;
+            }
+
+            @Override
+            public Long getVersionSum() {
+                return totalVersionSum;
+            }
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package com.mindhub.todolist.services;
+
+public interface DataSeedService {
+
+    // Inserts generated users with tasksPerUser tasks each and returns the number of tasks inserted.
+    long seed(int users, int tasksPerUser);
+}
@@ -0,0 +1,11 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.DurabilityStatusDto;
+import com.mindhub.todolist.dtos.SnapshotDto;
+
+public interface DurabilityService {
+
+    SnapshotDto snapshot();
+
+    DurabilityStatusDto getStatus();
+}
@@ -0,0 +1,13 @@
+package com.mindhub.todolist.services;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface ExistenceCheckService {
+
+    boolean existsByUsername(String username);
+
+    Set<String> findExistingUsernames(Collection<String> usernames);
+
+    boolean existsByTitle(String title);
+}
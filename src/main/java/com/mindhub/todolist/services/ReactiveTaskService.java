@@ -0,0 +1,38 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.CursorPageDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveTaskService {
+
+    Flux<TaskDto> getAllTasks();
+
+    Mono<CursorPageDto<TaskDto>> getTasksPage(String after, int limit);
+
+    Mono<TaskDto> getTaskById(Long id);
+
+    Mono<TaskDto> createTask(TaskInputDto taskInputDto);
+
+    Flux<BulkResultDto> createTasks(List<TaskInputDto> taskInputDtos);
+
+    Mono<Void> deleteTask(Long id);
+
+    Mono<TaskDto> updateTask(Long id, TaskInputDto taskInputDto);
+
+    Flux<TaskDto> getFindByTaskStatus(TaskStatus taskStatus);
+
+    Mono<Boolean> getExistsByTitle(String title);
+
+    Mono<Long> getCountByUsuarioId(Long usuarioId);
+
+    Flux<TaskDto> getfindByTitleOrderByIdAsc(String title);
+
+    Mono<Long> deleteByTaskStatus(TaskStatus status);
+}
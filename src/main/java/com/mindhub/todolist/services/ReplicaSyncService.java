@@ -0,0 +1,6 @@
+package com.mindhub.todolist.services;
+
+public interface ReplicaSyncService {
+
+    void sync();
+}
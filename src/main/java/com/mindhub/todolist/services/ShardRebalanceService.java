@@ -0,0 +1,13 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.ShardDto;
+import com.mindhub.todolist.dtos.ShardMoveDto;
+
+import java.util.List;
+
+public interface ShardRebalanceService {
+
+    List<ShardDto> getShards();
+
+    List<ShardMoveDto> rebalance(int maxMoves, boolean dryRun);
+}
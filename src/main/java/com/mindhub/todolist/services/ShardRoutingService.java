@@ -0,0 +1,41 @@
+package com.mindhub.todolist.services;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+// Without the sharded profile there is a single shard and every call runs directly.
+public interface ShardRoutingService {
+
+    int getShardCount();
+
+    int getShardOfUsuario(Long usuarioId);
+
+    // Round-robin shard for a user that does not exist yet.
+    int nextShardForNewUsuario();
+
+    // Every shard, the one that created the task first: it is only elsewhere if its user was moved.
+    List<Integer> getShardsForTask(Long taskId);
+
+    void moveUsuario(Long usuarioId, int shard);
+
+    // Runs the action with the user's shard, routing again if a move switched it while the call waited.
+    <T> T callForUsuario(Long usuarioId, IntFunction<T> action);
+
+    <T> T callOnShard(int shard, Supplier<T> action);
+
+    void runOnShard(int shard, Runnable action);
+
+    <T> T callInTransactionOnShard(int shard, boolean readOnly, Supplier<T> action);
+
+    void runInTransactionOnShard(int shard, boolean readOnly, Runnable action);
+
+    // Runs the action while every other call on the shard waits, so a user moved off it cannot take writes meanwhile.
+    void runWithShardBlocked(int shard, Runnable action);
+
+    // One result per shard, in shard order.
+    <T> List<T> callOnEachShard(Supplier<T> action);
+
+    boolean anyShardMatches(BooleanSupplier check);
+}
@@ -0,0 +1,24 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.ArchiveStatsDto;
+import com.mindhub.todolist.dtos.ArchivedTaskDto;
+import com.mindhub.todolist.dtos.TaskDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Completed tasks nobody touched for todolist.archive.completed-after leave the task table for a compressed archive.
+public interface TaskArchiveService {
+
+    // Returns how many tasks were archived.
+    long archiveCompletedBefore(LocalDateTime before);
+
+    void exportArchivedTasks(Long usuarioId, Consumer<ArchivedTaskDto> consumer);
+
+    List<TaskDto> restoreByUsuarioId(Long usuarioId);
+
+    TaskDto restoreTask(Long taskId);
+
+    ArchiveStatsDto getStats();
+}
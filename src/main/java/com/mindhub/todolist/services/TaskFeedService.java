@@ -0,0 +1,9 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.models.enums.TaskStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface TaskFeedService {
+
+    SseEmitter subscribe(Long usuarioId, TaskStatus taskStatus, Long lastEventId);
+}
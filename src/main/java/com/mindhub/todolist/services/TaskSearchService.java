@@ -0,0 +1,8 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.TaskSearchResultDto;
+
+public interface TaskSearchService {
+
+    TaskSearchResultDto search(String query, int page, int size);
+}
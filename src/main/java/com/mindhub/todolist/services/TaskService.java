@@ -1,22 +1,38 @@
 package com.mindhub.todolist.services;
 
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.CursorPageDto;
 import com.mindhub.todolist.dtos.TaskDto;
 import com.mindhub.todolist.dtos.TaskInputDto;
 import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.repositories.VersionSummary;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskService {
 
     List<TaskDto> getAllTasks();
 
+    CursorPageDto<TaskDto> getTasksPage(String after, int limit);
+
+    void exportTasks(Consumer<TaskDto> consumer);
+
     TaskDto getTaskById(Long id);
 
+    Long getTaskVersion(Long id);
+
+    VersionSummary getTasksVersionSummary();
+
+    VersionSummary getTasksVersionSummaryByStatus(TaskStatus taskStatus);
+
     TaskDto createTask(TaskInputDto taskInputDto);
 
+    List<BulkResultDto> createTasks(List<TaskInputDto> taskInputDtos);
+
     void deleteTask(Long id);
 
-    TaskDto updateTask(Long id, TaskInputDto taskInputDto);
+    TaskDto updateTask(Long id, TaskInputDto taskInputDto, Long expectedVersion);
 
     List<TaskDto> getFindByTaskStatus(TaskStatus taskStatus);
 
@@ -26,7 +42,11 @@ public interface TaskService {
 
     List<TaskDto> getfindByTitleOrderByIdAsc(String title);
 
-    void deleteByTaskStatus(TaskStatus status);
+    long deleteByTaskStatus(TaskStatus status);
+
+    int updateTaskStatus(Long id, TaskStatus status, TaskStatus expectedStatus);
+
+    long updateTasksStatus(List<Long> ids, TaskStatus status, TaskStatus expectedStatus);
 
     boolean getExistsByTaskStatus(TaskStatus taskStatus);
 }
@@ -0,0 +1,10 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.TaskStatsDto;
+
+public interface TaskStatsService {
+
+    TaskStatsDto getStats();
+
+    TaskStatsDto getStatsByUsuarioId(Long usuarioId);
+}
@@ -0,0 +1,11 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.IngestStatusDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+
+public interface TaskWriteBehindService {
+
+    IngestStatusDto enqueue(TaskInputDto taskInputDto);
+
+    IngestStatusDto getStatus(String trackingId);
+}
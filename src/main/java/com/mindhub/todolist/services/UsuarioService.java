@@ -1,8 +1,11 @@
 package com.mindhub.todolist.services;
 
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.CursorPageDto;
 import com.mindhub.todolist.dtos.NewUsuarioDto;
 import com.mindhub.todolist.dtos.UsuarioDto;
 import com.mindhub.todolist.models.Usuario;
+import com.mindhub.todolist.repositories.VersionSummary;
 
 import java.util.List;
 
@@ -10,13 +13,19 @@ public interface UsuarioService {
 
     List<UsuarioDto> getAllUsuarios();
 
+    CursorPageDto<UsuarioDto> getUsuariosPage(String after, int limit);
+
     UsuarioDto getUsuarioById(Long id);
 
+    VersionSummary getUsuariosVersionSummary();
+
     UsuarioDto createUsuario(NewUsuarioDto newUsuarioDto);
 
+    List<BulkResultDto> createUsuarios(List<NewUsuarioDto> newUsuarioDtos);
+
     void deleteUsuario(Long id);
 
-    UsuarioDto updateUsuario(Long id, UsuarioDto usuarioDto);
+    UsuarioDto updateUsuario(Long id, UsuarioDto usuarioDto, Long expectedVersion);
 
     UsuarioDto getUsuarioByEmail(String email);
 
@@ -24,5 +33,5 @@ public interface UsuarioService {
 
     Long getCountByEmail(String email);
 
-    void deleteByEmail(String email);
+    long deleteByEmail(String email);
 }
@@ -0,0 +1,282 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.services.DataSeedService;
+import com.mindhub.todolist.services.ShardRoutingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Synthetic dataset for benchmarks and load tests, written with plain JDBC batches instead of JPA
+// so millions of rows load in seconds.
+@Service
+public class DataSeedServiceImpl implements DataSeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSeedServiceImpl.class);
+
+    // Hibernate's pooled sequences hand out blocks of this size, ending at the value read from the sequence.
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final int BATCHES_PER_COMMIT = 20;
+
+    private static final int USERS_PER_CHUNK = 2000;
+
+    private static final long MAX_AGE_MINUTES = 90L * 24 * 60;
+
+    // Default varchar length Hibernate gave the title and description columns.
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private static final String[] SYLLABLES = {
+            "ca", "sa", "ta", "ma", "la", "pa", "ra", "na", "ba", "da", "ga", "co", "lo", "to", "mo", "ro",
+            "pe", "re", "te", "se", "me", "de", "ci", "li", "ti", "ni", "mi", "ri", "bu", "cu", "lu", "tu"
+    };
+
+    @Autowired
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private final ShardRoutingService shardRoutingService;
+
+    private final TaskStatus[] statuses;
+
+    private final double[] statusWeights;
+
+    private final String[] vocabulary;
+
+    private final double[] wordWeights;
+
+    private final long randomSeed;
+
+    private final int threads;
+
+    public DataSeedServiceImpl(JdbcTemplate jdbcTemplate, ShardRoutingService shardRoutingService,
+                               @Value("${todolist.seed.status-weights}") String statusWeights,
+                               @Value("${todolist.seed.vocabulary-size}") int vocabularySize,
+                               @Value("${todolist.seed.zipf-exponent}") double zipfExponent,
+                               @Value("${todolist.seed.random-seed}") long randomSeed,
+                               @Value("${todolist.seed.threads:0}") int threads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRoutingService = shardRoutingService;
+        this.statuses = TaskStatus.values();
+        this.statusWeights = parseStatusWeights(statusWeights);
+        this.vocabulary = buildVocabulary(vocabularySize, randomSeed);
+        this.wordWeights = new double[vocabularySize];
+        // Zipf: the k-th most common word shows up in proportion to 1 / k^s, like words in real task titles.
+        double total = 0;
+        for (int k = 0; k < vocabularySize; k++) {
+            total += 1 / Math.pow(k + 1, zipfExponent);
+            wordWeights[k] = total;
+        }
+        this.randomSeed = randomSeed;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public long seed(int users, int tasksPerUser) {
+        long start = System.nanoTime();
+        int shardCount = shardRoutingService.getShardCount();
+        int chunkCount = (users + USERS_PER_CHUNK - 1) / USERS_PER_CHUNK;
+
+        // Chunks are dealt round-robin over the shards, and each shard reserves ids for all of its chunks at once.
+        long[] usersPerShard = new long[shardCount];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            usersPerShard[chunk % shardCount] += Math.min(users, (chunk + 1) * USERS_PER_CHUNK) - chunk * USERS_PER_CHUNK;
+        }
+        long[] nextUsuarioId = new long[shardCount];
+        long[] nextTaskId = new long[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            long shardUsers = usersPerShard[shard];
+            nextUsuarioId[shard] = shardRoutingService.callOnShard(shard, () -> reserveIds("usuario_seq", shardUsers));
+            nextTaskId[shard] = shardRoutingService.callOnShard(shard,
+                    () -> reserveIds("task_seq", shardUsers * tasksPerUser));
+        }
+
+        // Each chunk of users gets its own random stream, so the dataset is the same whatever the thread count.
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                int shard = chunk % shardCount;
+                int chunkFrom = chunk * USERS_PER_CHUNK;
+                int chunkTo = Math.min(users, chunkFrom + USERS_PER_CHUNK);
+                long firstUsuarioId = nextUsuarioId[shard];
+                long firstTaskId = nextTaskId[shard];
+                nextUsuarioId[shard] += chunkTo - chunkFrom;
+                nextTaskId[shard] += (long) (chunkTo - chunkFrom) * tasksPerUser;
+                chunks.add(executor.submit(
+                        () -> insertChunk(shard, chunkFrom, chunkTo, tasksPerUser, firstUsuarioId, firstTaskId)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seeding was interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Seeding failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long tasks = (long) users * tasksPerUser;
+        log.info("Seeded {} users and {} tasks in {} ms", users, tasks, (System.nanoTime() - start) / 1_000_000);
+        return tasks;
+    }
+
+    // Takes a block of ids past anything Hibernate may already hold, then moves the sequence after it.
+    private long reserveIds(String sequence, long count) {
+        Long current = jdbcTemplate.queryForObject("select next value for " + sequence, Long.class);
+        long first = current + 1;
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (first + count + SEQUENCE_INCREMENT - 1));
+        return first;
+    }
+
+    // Ids are numbered from the chunk's own first ids. Every commit is a Spring transaction, so the durable
+    // profile's write-ahead log sees where each one ends.
+    private void insertChunk(int shard, int fromUser, int toUser, int tasksPerUser,
+                             long firstUsuarioId, long firstTaskId) {
+        SplittableRandom random = new SplittableRandom(randomSeed + fromUser);
+        LocalDateTime now = LocalDateTime.now();
+        inTransaction(shard, connection -> insertUsuarios(connection, fromUser, toUser, firstUsuarioId));
+        int usersPerCommit = Math.max(1, BATCH_SIZE * BATCHES_PER_COMMIT / Math.max(1, tasksPerUser));
+        for (int from = fromUser; from < toUser; from += usersPerCommit) {
+            int commitFrom = from;
+            int commitTo = Math.min(toUser, from + usersPerCommit);
+            inTransaction(shard, connection -> insertTasks(connection, random, now, commitFrom, commitTo, tasksPerUser,
+                    firstUsuarioId + commitFrom - fromUser, firstTaskId + (long) (commitFrom - fromUser) * tasksPerUser));
+        }
+    }
+
+    private void inTransaction(int shard, ConnectionCallback<Void> work) {
+        shardRoutingService.runInTransactionOnShard(shard, false, () -> jdbcTemplate.execute(work));
+    }
+
+    private Void insertUsuarios(Connection connection, int fromUser, int toUser, long firstUsuarioId) throws SQLException {
+        try (PreparedStatement insertUsuario = connection.prepareStatement(
+                "insert into usuario (id, username, password, email, version) values (?, ?, ?, ?, 0)")) {
+            for (int user = fromUser; user < toUser; user++) {
+                long usuarioId = firstUsuarioId + user - fromUser;
+                insertUsuario.setLong(1, usuarioId);
+                insertUsuario.setString(2, "user-" + usuarioId);
+                insertUsuario.setString(3, "seeded");
+                insertUsuario.setString(4, "user-" + usuarioId + "@mail.com");
+                insertUsuario.addBatch();
+            }
+            insertUsuario.executeBatch();
+        }
+        return null;
+    }
+
+    private Void insertTasks(Connection connection, SplittableRandom random, LocalDateTime now, int fromUser, int toUser,
+                             int tasksPerUser, long firstUsuarioId, long firstTaskId) throws SQLException {
+        try (PreparedStatement insertTask = connection.prepareStatement(
+                "insert into task (id, title, description, task_status, usuario_id, version, updated_at) values (?, ?, ?, ?, ?, 0, ?)")) {
+            int pending = 0;
+            for (int user = fromUser; user < toUser; user++) {
+                long usuarioId = firstUsuarioId + user - fromUser;
+                long taskId = firstTaskId + (long) (user - fromUser) * tasksPerUser;
+                for (int i = 0; i < tasksPerUser; i++) {
+                    insertTask.setLong(1, taskId + i);
+                    insertTask.setString(2, text(random, 2, 6));
+                    insertTask.setString(3, text(random, 8, 30));
+                    insertTask.setString(4, pickStatus(random).name());
+                    insertTask.setLong(5, usuarioId);
+                    // Last touched at some point in the past 90 days, so the archiver has old completed tasks to move.
+                    insertTask.setTimestamp(6, Timestamp.valueOf(now.minusMinutes(random.nextLong(MAX_AGE_MINUTES))));
+                    insertTask.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        insertTask.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            insertTask.executeBatch();
+        }
+        return null;
+    }
+
+    private String text(SplittableRandom random, int minWords, int maxWords) {
+        int words = random.nextInt(minWords, maxWords + 1);
+        StringBuilder text = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            String word = pickWord(random);
+            if (text.length() + word.length() + 1 > MAX_TEXT_LENGTH) {
+                break;
+            }
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(word);
+        }
+        return text.toString();
+    }
+
+    private String pickWord(SplittableRandom random) {
+        double target = random.nextDouble() * wordWeights[wordWeights.length - 1];
+        int index = Arrays.binarySearch(wordWeights, target);
+        return vocabulary[index >= 0 ? index : -index - 1];
+    }
+
+    private TaskStatus pickStatus(SplittableRandom random) {
+        double target = random.nextDouble() * statusWeights[statusWeights.length - 1];
+        for (int i = 0; i < statusWeights.length; i++) {
+            if (target < statusWeights[i]) {
+                return statuses[i];
+            }
+        }
+        return statuses[statuses.length - 1];
+    }
+
+    // "PENDING:50,IN_PROGRESS:20,COMPLETED:30" into cumulative weights in TaskStatus order.
+    private double[] parseStatusWeights(String spec) {
+        double[] weights = new double[statuses.length];
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected STATUS:weight but got: " + entry);
+            }
+            weights[TaskStatus.valueOf(parts[0].trim()).ordinal()] = Double.parseDouble(parts[1].trim());
+        }
+        for (int i = 1; i < weights.length; i++) {
+            weights[i] += weights[i - 1];
+        }
+        if (weights[weights.length - 1] <= 0) {
+            throw new IllegalArgumentException("At least one status needs a positive weight: " + spec);
+        }
+        return weights;
+    }
+
+    private static String[] buildVocabulary(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int syllables = random.nextInt(2, 5);
+            for (int s = 0; s < syllables; s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+}
@@ -0,0 +1,169 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.mindhub.todolist.config.DurabilityConfig;
+import com.mindhub.todolist.config.WalRecord;
+import com.mindhub.todolist.config.WalRecovery;
+import com.mindhub.todolist.config.WriteAheadLog;
+import com.mindhub.todolist.dtos.DurabilityStatusDto;
+import com.mindhub.todolist.dtos.SnapshotDto;
+import com.mindhub.todolist.services.DurabilityService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+// Writes the logged tables to a compressed snapshot file so recovery does not have to replay the log from the
+// start, then drops the log segments the snapshot covers.
+@Service
+@Profile("durable")
+@Timed("todolist.service")
+public class DurabilityServiceImpl implements DurabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(DurabilityServiceImpl.class);
+
+    @Autowired
+    private final DataSource dataSource;
+
+    @Autowired
+    private final WriteAheadLog writeAheadLog;
+
+    @Autowired
+    private final WalRecovery walRecovery;
+
+    private volatile SnapshotDto lastSnapshot;
+
+    public DurabilityServiceImpl(DataSource dataSource, WriteAheadLog writeAheadLog, WalRecovery walRecovery) {
+        this.dataSource = dataSource;
+        this.writeAheadLog = writeAheadLog;
+        this.walRecovery = walRecovery;
+    }
+
+    @Scheduled(initialDelayString = "${todolist.wal.snapshot-interval}", fixedDelayString = "${todolist.wal.snapshot-interval}")
+    public void scheduledSnapshot() {
+        SnapshotDto snapshot = snapshot();
+        log.info("Snapshot of {} rows ({} bytes) taken in {} ms, the log is replayed from {}",
+                snapshot.getRows(), snapshot.getBytes(), snapshot.getMillis(), snapshot.getLsn());
+    }
+
+    @Override
+    public synchronized SnapshotDto snapshot() {
+        long startedAt = System.nanoTime();
+        // Taken before the snapshot starts reading: every change the snapshot can miss is logged after it, and
+        // replaying a change the snapshot already has is harmless.
+        long replayFrom = writeAheadLog.getReplayStart();
+        Path dir = writeAheadLog.getDir();
+        Path tmp = dir.resolve("snapshot.tmp");
+        long rows = 0;
+        try {
+            try (Connection connection = dataSource.getConnection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                int isolation = connection.getTransactionIsolation();
+                // One transaction at serializable, which H2 runs on a snapshot of the database: the tables are
+                // read as of the same moment, without blocking writers.
+                connection.setAutoCommit(false);
+                connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        new GZIPOutputStream(Files.newOutputStream(tmp), 1 << 16)))) {
+                    out.writeLong(replayFrom);
+                    for (String table : DurabilityConfig.LOGGED_TABLES) {
+                        rows += writeTable(connection, table, out);
+                    }
+                    for (String table : DurabilityConfig.LOGGED_TABLES) {
+                        writeSequence(connection, table + "_seq", out);
+                    }
+                    out.writeByte(WalRecord.END);
+                } finally {
+                    connection.rollback();
+                    connection.setTransactionIsolation(isolation);
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
+            // On disk before it replaces the older snapshot and the log it covers is deleted.
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Path snapshot = WalRecovery.snapshotPath(dir, replayFrom);
+            Files.move(tmp, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            for (Path older : WalRecovery.listSnapshots(dir)) {
+                if (!older.equals(snapshot)) {
+                    Files.deleteIfExists(older);
+                }
+            }
+            writeAheadLog.deleteBefore(replayFrom);
+            lastSnapshot = new SnapshotDto(replayFrom, rows, Files.size(snapshot),
+                    (System.nanoTime() - startedAt) / 1_000_000, LocalDateTime.now());
+            return lastSnapshot;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not read the database for a snapshot", ex);
+        }
+    }
+
+    private static long writeTable(Connection connection, String table, DataOutputStream out)
+            throws SQLException, IOException {
+        long rows = 0;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select * from " + table)) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            String[] columns = new String[metaData.getColumnCount()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = metaData.getColumnName(i + 1);
+            }
+            byte[] header = WalRecord.encodeHeader(table.toUpperCase(), columns);
+            Object[] values = new Object[columns.length];
+            while (resultSet.next()) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = resultSet.getObject(i + 1);
+                }
+                WalRecord.writeRow(out, WalRecord.UPSERT, 0, header, values);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    // Ids handed out to rows that are gone by now, or to writes that rolled back, must not be handed out again
+    // after recovery: the log finds rows by id.
+    private static void writeSequence(Connection connection, String sequence, DataOutputStream out)
+            throws SQLException, IOException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select base_value from information_schema.sequences where sequence_name = ?")) {
+            statement.setString(1, sequence.toUpperCase());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    WalRecord.writeSequence(out, sequence, resultSet.getLong(1));
+                }
+            }
+        }
+    }
+
+    @Override
+    public DurabilityStatusDto getStatus() {
+        return new DurabilityStatusDto(writeAheadLog.getAppended(), writeAheadLog.getSynced(),
+                writeAheadLog.getReplayStart(), writeAheadLog.getSegmentCount(), writeAheadLog.getSize(),
+                lastSnapshot, walRecovery.getRecovery());
+    }
+}
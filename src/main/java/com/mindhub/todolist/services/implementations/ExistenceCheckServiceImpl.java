@@ -0,0 +1,223 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TasksArchivedEvent;
+import com.mindhub.todolist.events.UsuariosSavedEvent;
+import com.mindhub.todolist.repositories.TaskRepository;
+import com.mindhub.todolist.repositories.UsuarioRepository;
+import com.mindhub.todolist.services.ExistenceCheckService;
+import com.mindhub.todolist.services.ShardRoutingService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Bloom filters in front of the username and title exists checks: most answers are "no",
+// and a definite no from the filter skips the database.
+@Service
+@Timed("todolist.service")
+public class ExistenceCheckServiceImpl implements ExistenceCheckService {
+
+    @Autowired
+    private final UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private final TaskRepository taskRepository;
+
+    @Autowired
+    private final ShardRoutingService shardRoutingService;
+
+    private final ExistenceFilter usernames;
+
+    private final ExistenceFilter titles;
+
+    public ExistenceCheckServiceImpl(UsuarioRepository usuarioRepository, TaskRepository taskRepository,
+                                     ShardRoutingService shardRoutingService, MeterRegistry meterRegistry,
+                                     @Value("${todolist.bloom.usernames.expected-insertions}") long expectedUsernames,
+                                     @Value("${todolist.bloom.titles.expected-insertions}") long expectedTitles,
+                                     @Value("${todolist.bloom.fpp}") double fpp) {
+        this.usuarioRepository = usuarioRepository;
+        this.taskRepository = taskRepository;
+        this.shardRoutingService = shardRoutingService;
+        this.usernames = new ExistenceFilter("usernames", expectedUsernames, fpp, meterRegistry);
+        this.titles = new ExistenceFilter("titles", expectedTitles, fpp, meterRegistry);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return usernames.check(username,
+                value -> shardRoutingService.anyShardMatches(() -> usuarioRepository.existsByUsername(value)));
+    }
+
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> candidates) {
+        Set<String> maybeTaken = new HashSet<>();
+        for (String username : candidates) {
+            if (usernames.mightContain(username)) {
+                maybeTaken.add(username);
+            }
+        }
+        if (maybeTaken.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> existing = new HashSet<>();
+        shardRoutingService.callOnEachShard(() -> usuarioRepository.findExistingUsernames(maybeTaken))
+                .forEach(existing::addAll);
+        return existing;
+    }
+
+    @Override
+    public boolean existsByTitle(String title) {
+        return titles.check(title,
+                value -> shardRoutingService.anyShardMatches(() -> taskRepository.existsByTitle(value)));
+    }
+
+    // Bloom filters cannot forget a value, so deleted usernames and titles are only dropped by rebuilding.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${todolist.bloom.rebuild-interval}",
+            fixedDelayString = "${todolist.bloom.rebuild-interval}")
+    public void rebuild() {
+        usernames.rebuild(countOnEachShard(usuarioRepository::count), usuarioRepository::streamAllUsernames);
+        titles.rebuild(countOnEachShard(taskRepository::count), taskRepository::streamAllTitles);
+    }
+
+    private long countOnEachShard(Supplier<Long> count) {
+        return shardRoutingService.callOnEachShard(count).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsuariosSaved(UsuariosSavedEvent event) {
+        event.getUsernames().forEach(usernames::put);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getTask() != null) {
+            titles.put(event.getTask().getTitle());
+        }
+    }
+
+    // Restored tasks go back in through JDBC, so no TaskChangedEvent announces their titles.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksArchived(TasksArchivedEvent event) {
+        if (event.getType() == TasksArchivedEvent.Type.RESTORED) {
+            event.getTasks().forEach(task -> titles.put(task.getTitle()));
+        }
+    }
+
+    private final class ExistenceFilter {
+
+        private final long expectedInsertions;
+
+        private final double fpp;
+
+        // Null until the first build: every check goes to the database meanwhile.
+        private volatile BloomFilter current;
+
+        // The filter being rebuilt, which also receives values saved while the table is scanned.
+        private BloomFilter building;
+
+        private final Counter negatives;
+
+        private final Counter positives;
+
+        private final Counter falsePositives;
+
+        private ExistenceFilter(String name, long expectedInsertions, double fpp, MeterRegistry meterRegistry) {
+            this.expectedInsertions = expectedInsertions;
+            this.fpp = fpp;
+            this.negatives = checks(meterRegistry, name, "negative");
+            this.positives = checks(meterRegistry, name, "positive");
+            this.falsePositives = checks(meterRegistry, name, "false_positive");
+            Gauge.builder("todolist.bloom.fpp.expected", this, filter -> filter.current != null ? filter.current.expectedFpp() : 0)
+                    .description("False-positive probability estimated from the bits set")
+                    .tag("filter", name)
+                    .register(meterRegistry);
+            Gauge.builder("todolist.bloom.fpp.observed", this, ExistenceFilter::observedFpp)
+                    .description("Share of values absent from the database that the filter let through")
+                    .tag("filter", name)
+                    .register(meterRegistry);
+        }
+
+        private Counter checks(MeterRegistry meterRegistry, String name, String result) {
+            return Counter.builder("todolist.bloom.checks")
+                    .tag("filter", name)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+        private boolean mightContain(String value) {
+            BloomFilter filter = current;
+            return value == null || filter == null || filter.mightContain(value);
+        }
+
+        private boolean check(String value, Predicate<String> database) {
+            if (!mightContain(value)) {
+                negatives.increment();
+                return false;
+            }
+            boolean exists = database.test(value);
+            if (current != null) {
+                (exists ? positives : falsePositives).increment();
+            }
+            return exists;
+        }
+
+        private synchronized void put(String value) {
+            if (value == null) {
+                return;
+            }
+            if (current != null) {
+                current.put(value);
+            }
+            if (building != null) {
+                building.put(value);
+            }
+        }
+
+        private void rebuild(long rows, Supplier<Stream<String>> scan) {
+            // Room for twice the current rows, so a growing table keeps the configured false-positive rate.
+            BloomFilter next = BloomFilter.create(Math.max(expectedInsertions, rows * 2), fpp);
+            synchronized (this) {
+                building = next;
+            }
+            try {
+                for (int shard = 0; shard < shardRoutingService.getShardCount(); shard++) {
+                    shardRoutingService.runInTransactionOnShard(shard, true, () -> {
+                        try (Stream<String> values = scan.get()) {
+                            values.forEach(next::put);
+                        }
+                    });
+                }
+                synchronized (this) {
+                    current = next;
+                }
+            } finally {
+                synchronized (this) {
+                    building = null;
+                }
+            }
+        }
+
+        private double observedFpp() {
+            double falsePositiveCount = falsePositives.count();
+            double absent = falsePositiveCount + negatives.count();
+            return absent == 0 ? 0 : falsePositiveCount / absent;
+        }
+    }
+}
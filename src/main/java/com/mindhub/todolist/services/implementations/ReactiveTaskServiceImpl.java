@@ -0,0 +1,192 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.CursorPageDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TasksDeletedEvent;
+import com.mindhub.todolist.exceptions.TaskNotFoundExc;
+import com.mindhub.todolist.exceptions.UserNotFoundExc;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.models.reactive.TaskRecord;
+import com.mindhub.todolist.repositories.ReactiveTaskRepository;
+import com.mindhub.todolist.services.ReactiveTaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+@Profile("reactive")
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private final ReactiveTaskRepository reactiveTaskRepository;
+
+    @Autowired
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    @Autowired
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReactiveTaskServiceImpl(ReactiveTaskRepository reactiveTaskRepository, R2dbcEntityTemplate r2dbcEntityTemplate,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.reactiveTaskRepository = reactiveTaskRepository;
+        this.r2dbcEntityTemplate = r2dbcEntityTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Flux<TaskDto> getAllTasks() {
+        return reactiveTaskRepository.findAllByOrderByIdAsc()
+                .map(ReactiveTaskServiceImpl::toDto);
+    }
+
+    @Override
+    public Mono<CursorPageDto<TaskDto>> getTasksPage(String after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return Mono.fromCallable(() -> CursorPageDto.decodeCursor(after))
+                .flatMapMany(afterId -> reactiveTaskRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1)))
+                .map(ReactiveTaskServiceImpl::toDto)
+                .collectList()
+                .map(tasks -> {
+                    boolean hasNext = tasks.size() > pageSize;
+                    List<TaskDto> items = hasNext ? tasks.subList(0, pageSize) : tasks;
+                    String nextCursor = hasNext ? CursorPageDto.encodeCursor(items.get(items.size() - 1).getId()) : null;
+                    return new CursorPageDto<>(items, nextCursor);
+                });
+    }
+
+    @Override
+    public Mono<TaskDto> getTaskById(Long id) {
+        return reactiveTaskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundExc("Task not found with ID: " + id)))
+                .map(ReactiveTaskServiceImpl::toDto);
+    }
+
+    @Override
+    public Mono<TaskDto> createTask(TaskInputDto taskInputDto) {
+        return checkUsuario(taskInputDto.getUsuarioId())
+                .then(reactiveTaskRepository.nextId())
+                .flatMap(id -> r2dbcEntityTemplate.insert(new TaskRecord(id, taskInputDto.getTitle(),
+                        taskInputDto.getDescription(), taskInputDto.getTasksStatus(), taskInputDto.getUsuarioId())))
+                .doOnNext(saved -> eventPublisher.publishEvent(TaskChangedEvent.created(toDto(saved), saved.getUsuarioId())))
+                .map(ReactiveTaskServiceImpl::toDto);
+    }
+
+    @Override
+    public Flux<BulkResultDto> createTasks(List<TaskInputDto> taskInputDtos) {
+        List<Long> usuarioIds = taskInputDtos.stream()
+                .map(TaskInputDto::getUsuarioId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Mono<Set<Long>> existingUsuarioIds = usuarioIds.isEmpty()
+                ? Mono.just(Set.of())
+                : reactiveTaskRepository.findExistingUsuarioIds(usuarioIds).collect(HashSet::new, Set::add);
+
+        return existingUsuarioIds.flatMapMany(existing -> Flux.range(0, taskInputDtos.size())
+                .concatMap(index -> {
+                    TaskInputDto taskInputDto = taskInputDtos.get(index);
+                    Long usuarioId = taskInputDto.getUsuarioId();
+                    if (usuarioId != null && !existing.contains(usuarioId)) {
+                        return Mono.just(BulkResultDto.failed(index, "User not found by ID: " + usuarioId));
+                    }
+                    return reactiveTaskRepository.nextId()
+                            .flatMap(id -> r2dbcEntityTemplate.insert(new TaskRecord(id, taskInputDto.getTitle(),
+                                    taskInputDto.getDescription(), taskInputDto.getTasksStatus(), usuarioId)))
+                            .doOnNext(saved -> eventPublisher.publishEvent(TaskChangedEvent.created(toDto(saved), usuarioId)))
+                            .map(saved -> BulkResultDto.created(index, saved.getId()));
+                }));
+    }
+
+    @Override
+    public Mono<Void> deleteTask(Long id) {
+        // Loaded rather than checked, so the event carries the status and user the listeners take the task out of.
+        return reactiveTaskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Task not found by ID: ")))
+                .flatMap(task -> reactiveTaskRepository.deleteById(id)
+                        .then(Mono.fromRunnable(() -> eventPublisher.publishEvent(
+                                TaskChangedEvent.deleted(id, task.getTaskStatus(), task.getUsuarioId())))));
+    }
+
+    @Override
+    public Mono<TaskDto> updateTask(Long id, TaskInputDto taskInputDto) {
+        return reactiveTaskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Task not found")))
+                .flatMap(existingTask -> checkUsuario(taskInputDto.getUsuarioId()).thenReturn(existingTask))
+                .flatMap(existingTask -> {
+                    TaskStatus previousStatus = existingTask.getTaskStatus();
+                    Long previousUsuarioId = existingTask.getUsuarioId();
+                    existingTask.setTitle(taskInputDto.getTitle());
+                    existingTask.setDescription(taskInputDto.getDescription());
+                    existingTask.setTaskStatus(taskInputDto.getTasksStatus());
+                    if (taskInputDto.getUsuarioId() != null) {
+                        existingTask.setUsuarioId(taskInputDto.getUsuarioId());
+                    }
+                    existingTask.setUpdatedAt(LocalDateTime.now());
+                    return reactiveTaskRepository.save(existingTask)
+                            .doOnNext(saved -> eventPublisher.publishEvent(TaskChangedEvent.updated(
+                                    toDto(saved), saved.getUsuarioId(), previousStatus, previousUsuarioId)));
+                })
+                .map(ReactiveTaskServiceImpl::toDto);
+    }
+
+    @Override
+    public Flux<TaskDto> getFindByTaskStatus(TaskStatus taskStatus) {
+        return reactiveTaskRepository.findByTaskStatus(taskStatus)
+                .map(ReactiveTaskServiceImpl::toDto);
+    }
+
+    @Override
+    public Mono<Boolean> getExistsByTitle(String title) {
+        return reactiveTaskRepository.existsByTitle(title);
+    }
+
+    @Override
+    public Mono<Long> getCountByUsuarioId(Long usuarioId) {
+        return reactiveTaskRepository.countByUsuarioId(usuarioId);
+    }
+
+    @Override
+    public Flux<TaskDto> getfindByTitleOrderByIdAsc(String title) {
+        return reactiveTaskRepository.findByTitleOrderByIdAsc(title)
+                .map(ReactiveTaskServiceImpl::toDto);
+    }
+
+    @Override
+    public Mono<Long> deleteByTaskStatus(TaskStatus status) {
+        return reactiveTaskRepository.deleteByTaskStatus(status)
+                .flatMap(deleted -> deleted > 0
+                        ? Mono.just(deleted)
+                        : Mono.error(new RuntimeException("No tasks found with status: " + status)))
+                .doOnNext(deleted -> eventPublisher.publishEvent(TasksDeletedEvent.byStatus(status, deleted)));
+    }
+
+    private Mono<Void> checkUsuario(Long usuarioId) {
+        if (usuarioId == null) {
+            return Mono.empty();
+        }
+        return reactiveTaskRepository.existsUsuario(usuarioId)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new UserNotFoundExc("User not found by ID: " + usuarioId)));
+    }
+
+    private static TaskDto toDto(TaskRecord task) {
+        return new TaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getTaskStatus());
+    }
+}
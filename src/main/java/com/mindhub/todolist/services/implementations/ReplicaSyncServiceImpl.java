@@ -0,0 +1,266 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.mindhub.todolist.config.ReplicaConfig;
+import com.mindhub.todolist.config.ReplicaRoutingDataSource;
+import com.mindhub.todolist.services.ReplicaSyncService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Ships the rows noted in replication_change to every replica: each pass re-reads the current version of the
+// noted rows from the primary, merges them into the replicas (or deletes them there when they are gone) and only
+// then forgets the notes. A replica that fails to apply a pass is copied over in full on the next one.
+@Service
+@Profile("replicas")
+@Timed("todolist.service")
+public class ReplicaSyncServiceImpl implements ReplicaSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSyncServiceImpl.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private final ReplicaRoutingDataSource dataSource;
+
+    @Autowired
+    private final CacheManager cacheManager;
+
+    private final JdbcTemplate primary;
+
+    // Replicas start out of sync: whatever their files hold is from an earlier run.
+    private final BitSet outOfSync = new BitSet();
+
+    public ReplicaSyncServiceImpl(ReplicaRoutingDataSource dataSource, CacheManager cacheManager) {
+        this.dataSource = dataSource;
+        this.cacheManager = cacheManager;
+        this.primary = new JdbcTemplate(dataSource.getPrimary());
+        this.outOfSync.set(0, dataSource.getReplicaCount());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${todolist.replicas.sync-interval}")
+    public synchronized void sync() {
+        // Everything committed before this point is seen by the queries below.
+        long startedAt = System.currentTimeMillis();
+        for (int replica = outOfSync.nextSetBit(0); replica >= 0; replica = outOfSync.nextSetBit(replica + 1)) {
+            try {
+                copyAll(dataSource.getReplica(replica));
+                outOfSync.clear(replica);
+                log.info("Copied the primary to replica-{}", replica);
+            } catch (SQLException | RuntimeException ex) {
+                log.warn("Could not copy the primary to replica-{}", replica, ex);
+            }
+        }
+
+        boolean usuariosChanged = false;
+        List<Change> changes;
+        do {
+            changes = primary.query("select id, table_name, row_id from replication_change order by id limit ?",
+                    (rs, rowNum) -> new Change(rs.getLong(1), rs.getString(2), rs.getLong(3)), BATCH_SIZE);
+            if (changes.isEmpty()) {
+                break;
+            }
+            Map<String, Set<Long>> idsByTable = new LinkedHashMap<>();
+            for (String table : ReplicaConfig.REPLICATED_TABLES) {
+                idsByTable.put(table, new HashSet<>());
+            }
+            for (Change change : changes) {
+                idsByTable.get(change.tableName).add(change.rowId);
+            }
+            usuariosChanged |= !idsByTable.get("usuario").isEmpty();
+
+            Map<String, Rows> rowsByTable = new LinkedHashMap<>();
+            for (Map.Entry<String, Set<Long>> entry : idsByTable.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    rowsByTable.put(entry.getKey(), readRows(entry.getKey(), entry.getValue()));
+                }
+            }
+            for (int replica = 0; replica < dataSource.getReplicaCount(); replica++) {
+                if (outOfSync.get(replica)) {
+                    continue;
+                }
+                try {
+                    apply(dataSource.getReplica(replica), idsByTable, rowsByTable);
+                } catch (SQLException | RuntimeException ex) {
+                    log.warn("Could not apply changes to replica-{}, it will be copied over", replica, ex);
+                    outOfSync.set(replica);
+                    dataSource.markOutOfSync(replica);
+                }
+            }
+            primary.update("delete from replication_change where id = any(?)",
+                    (Object) changes.stream().map(change -> change.id).toArray(Long[]::new));
+        } while (changes.size() == BATCH_SIZE);
+
+        for (int replica = 0; replica < dataSource.getReplicaCount(); replica++) {
+            if (!outOfSync.get(replica)) {
+                dataSource.markSynced(replica, startedAt);
+            }
+        }
+        // Lookups cached while the replicas still had the old rows would otherwise outlive the lag.
+        if (usuariosChanged) {
+            clearCache("usuariosById");
+            clearCache("usuariosByEmail");
+        }
+    }
+
+    private Rows readRows(String table, Set<Long> ids) {
+        return primary.query("select * from " + table + " where id = any(?)", ReplicaSyncServiceImpl::extractRows,
+                (Object) ids.toArray(Long[]::new));
+    }
+
+    // Rows still on the primary are merged, the others were deleted there.
+    private void apply(DataSource replica, Map<String, Set<Long>> idsByTable, Map<String, Rows> rowsByTable)
+            throws SQLException {
+        try (Connection connection = replica.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                for (Map.Entry<String, Rows> entry : rowsByTable.entrySet()) {
+                    Rows rows = entry.getValue();
+                    merge(connection, entry.getKey(), rows);
+                    Set<Long> deleted = new HashSet<>(idsByTable.get(entry.getKey()));
+                    for (Object[] row : rows.values) {
+                        deleted.remove(((Number) row[rows.idColumn()]).longValue());
+                    }
+                    if (!deleted.isEmpty()) {
+                        try (PreparedStatement delete = connection.prepareStatement(
+                                "delete from " + entry.getKey() + " where id = any(?)")) {
+                            delete.setObject(1, deleted.toArray(Long[]::new));
+                            delete.executeUpdate();
+                        }
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    private void copyAll(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                for (String table : ReplicaConfig.REPLICATED_TABLES) {
+                    try (PreparedStatement delete = connection.prepareStatement("delete from " + table)) {
+                        delete.executeUpdate();
+                    }
+                }
+                for (String table : ReplicaConfig.REPLICATED_TABLES) {
+                    long afterId = Long.MIN_VALUE;
+                    Rows rows;
+                    do {
+                        rows = readPage(table, afterId);
+                        merge(connection, table, rows);
+                        if (!rows.values.isEmpty()) {
+                            afterId = ((Number) rows.values.get(rows.values.size() - 1)[rows.idColumn()]).longValue();
+                        }
+                    } while (rows.values.size() == BATCH_SIZE);
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    private Rows readPage(String table, long afterId) {
+        return primary.query("select * from " + table + " where id > ? order by id limit ?",
+                ReplicaSyncServiceImpl::extractRows, afterId, BATCH_SIZE);
+    }
+
+    private static Rows extractRows(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        List<String> columns = new ArrayList<>(metaData.getColumnCount());
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.add(metaData.getColumnName(i));
+        }
+        List<Object[]> values = new ArrayList<>();
+        while (rs.next()) {
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            values.add(row);
+        }
+        return new Rows(columns, values);
+    }
+
+    private static void merge(Connection connection, String table, Rows rows) throws SQLException {
+        if (rows.values.isEmpty()) {
+            return;
+        }
+        String sql = "merge into " + table + " (" + String.join(", ", rows.columns) + ") key (id) values ("
+                + String.join(", ", Collections.nCopies(rows.columns.size(), "?")) + ")";
+        try (PreparedStatement merge = connection.prepareStatement(sql)) {
+            for (Object[] row : rows.values) {
+                for (int i = 0; i < row.length; i++) {
+                    merge.setObject(i + 1, row[i]);
+                }
+                merge.addBatch();
+            }
+            merge.executeBatch();
+        }
+    }
+
+    private void clearCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static final class Change {
+
+        private final long id;
+
+        private final String tableName;
+
+        private final long rowId;
+
+        private Change(long id, String tableName, long rowId) {
+            this.id = id;
+            this.tableName = tableName;
+            this.rowId = rowId;
+        }
+    }
+
+    private static final class Rows {
+
+        private final List<String> columns;
+
+        private final List<Object[]> values;
+
+        private Rows(List<String> columns, List<Object[]> values) {
+            this.columns = columns;
+            this.values = values;
+        }
+
+        private int idColumn() {
+            return columns.indexOf("ID");
+        }
+    }
+}
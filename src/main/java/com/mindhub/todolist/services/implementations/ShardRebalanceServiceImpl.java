@@ -0,0 +1,163 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.mindhub.todolist.dtos.ShardDto;
+import com.mindhub.todolist.dtos.ShardMoveDto;
+import com.mindhub.todolist.services.ShardRebalanceService;
+import com.mindhub.todolist.services.ShardRoutingService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Moves whole users, with their tasks, from the most loaded shards to the least loaded ones, e.g. after adding a shard.
+// A move copies the rows, switches the routing and then deletes the originals, with the source shard blocked
+// throughout so no write lands there in between. Writes routed by user that waited go to the new shard; a write by
+// task id that picked the old shard no longer finds the task there.
+@Service
+@Profile("sharded")
+@Timed("todolist.service")
+public class ShardRebalanceServiceImpl implements ShardRebalanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalanceServiceImpl.class);
+
+    @Autowired
+    private final ShardRoutingService shardRoutingService;
+
+    @Autowired
+    private final JdbcTemplate jdbcTemplate;
+
+    private final double maxImbalance;
+
+    public ShardRebalanceServiceImpl(ShardRoutingService shardRoutingService, JdbcTemplate jdbcTemplate,
+                                     @Value("${todolist.sharding.rebalance.max-imbalance}") double maxImbalance) {
+        this.shardRoutingService = shardRoutingService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxImbalance = maxImbalance;
+    }
+
+    @Override
+    public List<ShardDto> getShards() {
+        List<ShardDto> shards = new ArrayList<>();
+        for (int shard = 0; shard < shardRoutingService.getShardCount(); shard++) {
+            long usuarios = count(shard, "select count(*) from usuario");
+            long tasks = count(shard, "select count(*) from task");
+            shards.add(new ShardDto(shard, usuarios, tasks));
+        }
+        return shards;
+    }
+
+    @Override
+    public List<ShardMoveDto> rebalance(int maxMoves, boolean dryRun) {
+        int shardCount = shardRoutingService.getShardCount();
+        long[] load = new long[shardCount];
+        List<List<Candidate>> candidates = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            List<Candidate> shardCandidates = shardRoutingService.callOnShard(shard, () -> jdbcTemplate.query(
+                    "select t.usuario_id, count(*) from task t where t.usuario_id is not null group by t.usuario_id",
+                    (rs, rowNum) -> new Candidate(rs.getLong(1), rs.getLong(2))));
+            shardCandidates.sort(Comparator.comparingLong((Candidate candidate) -> candidate.tasks).reversed());
+            candidates.add(shardCandidates);
+            load[shard] = count(shard, "select count(*) from task");
+        }
+        long average = Math.max(1, (long) Math.ceil((double) Arrays.stream(load).sum() / shardCount));
+
+        List<ShardMoveDto> moves = new ArrayList<>();
+        while (moves.size() < maxMoves) {
+            int heaviest = 0;
+            int lightest = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                heaviest = load[shard] > load[heaviest] ? shard : heaviest;
+                lightest = load[shard] < load[lightest] ? shard : lightest;
+            }
+            long gap = load[heaviest] - load[lightest];
+            if (gap <= maxImbalance * average) {
+                break;
+            }
+            // The largest user that still narrows the gap: moving more than half of it would just flip the imbalance.
+            Candidate picked = null;
+            for (Candidate candidate : candidates.get(heaviest)) {
+                if (candidate.tasks * 2 <= gap) {
+                    picked = candidate;
+                    break;
+                }
+            }
+            if (picked == null) {
+                break;
+            }
+            candidates.get(heaviest).remove(picked);
+            load[heaviest] -= picked.tasks;
+            load[lightest] += picked.tasks;
+            if (!dryRun) {
+                move(picked.usuarioId, heaviest, lightest);
+            }
+            moves.add(new ShardMoveDto(picked.usuarioId, heaviest, lightest, picked.tasks));
+        }
+        if (!dryRun && !moves.isEmpty()) {
+            log.info("Moved {} users between shards, task counts now {}", moves.size(), Arrays.toString(load));
+        }
+        return moves;
+    }
+
+    private void move(Long usuarioId, int fromShard, int toShard) {
+        shardRoutingService.runWithShardBlocked(fromShard, () -> copyAndDelete(usuarioId, fromShard, toShard));
+    }
+
+    private void copyAndDelete(Long usuarioId, int fromShard, int toShard) {
+        Map<String, Object> usuario = shardRoutingService.callOnShard(fromShard, () -> jdbcTemplate.queryForMap(
+                "select id, username, password, email, version from usuario where id = ?", usuarioId));
+        List<Object[]> tasks = shardRoutingService.callOnShard(fromShard, () -> jdbcTemplate.query(
+                "select id, title, description, task_status, usuario_id, version, updated_at from task where usuario_id = ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getLong(5), rs.getObject(6), rs.getTimestamp(7)},
+                usuarioId));
+        List<Object[]> segments = shardRoutingService.callOnShard(fromShard, () -> jdbcTemplate.query(
+                "select id, usuario_id, first_task_id, last_task_id, task_count, archived_at, payload " +
+                        "from task_archive_segment where usuario_id = ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getInt(5),
+                        rs.getTimestamp(6), rs.getBytes(7)},
+                usuarioId));
+
+        shardRoutingService.runInTransactionOnShard(toShard, false, () -> {
+            jdbcTemplate.update("insert into usuario (id, username, password, email, version) values (?, ?, ?, ?, ?)",
+                    usuario.get("ID"), usuario.get("USERNAME"), usuario.get("PASSWORD"), usuario.get("EMAIL"),
+                    usuario.get("VERSION"));
+            jdbcTemplate.batchUpdate(
+                    "insert into task (id, title, description, task_status, usuario_id, version, updated_at) values (?, ?, ?, ?, ?, ?, ?)",
+                    tasks);
+            jdbcTemplate.batchUpdate("insert into task_archive_segment (id, usuario_id, first_task_id, last_task_id, " +
+                    "task_count, archived_at, payload) values (?, ?, ?, ?, ?, ?, ?)", segments);
+        });
+        shardRoutingService.moveUsuario(usuarioId, toShard);
+        shardRoutingService.runInTransactionOnShard(fromShard, false, () -> {
+            jdbcTemplate.update("delete from task where usuario_id = ?", usuarioId);
+            jdbcTemplate.update("delete from task_archive_segment where usuario_id = ?", usuarioId);
+            jdbcTemplate.update("delete from usuario where id = ?", usuarioId);
+        });
+    }
+
+    private long count(int shard, String sql) {
+        return shardRoutingService.callOnShard(shard, () -> jdbcTemplate.queryForObject(sql, Long.class));
+    }
+
+    private static final class Candidate {
+
+        private final Long usuarioId;
+
+        private final long tasks;
+
+        private Candidate(Long usuarioId, long tasks) {
+            this.usuarioId = usuarioId;
+            this.tasks = tasks;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.mindhub.todolist.config.ShardRoutingDataSource;
+import com.mindhub.todolist.services.ShardRoutingService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+@Service
+public class ShardRoutingServiceImpl implements ShardRoutingService {
+
+    // Null without the sharded profile.
+    private final ShardRoutingDataSource routingDataSource;
+
+    private final int shardCount;
+
+    private final TransactionTemplate transaction;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final TransactionTemplate nestedReadOnlyTransaction;
+
+    // Users that the rebalancer moved away from the shard their id was created on.
+    private final Map<Long, Integer> movedUsuarios = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    // Held shared by every call on a shard and exclusively while a user is moved off it.
+    private final ReentrantReadWriteLock[] moveBarriers;
+
+    public ShardRoutingServiceImpl(ObjectProvider<ShardRoutingDataSource> routingDataSource,
+                                   PlatformTransactionManager transactionManager) {
+        this.routingDataSource = routingDataSource.getIfAvailable();
+        this.shardCount = this.routingDataSource != null ? this.routingDataSource.getShardCount() : 1;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.nestedReadOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.nestedReadOnlyTransaction.setReadOnly(true);
+        this.nestedReadOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.moveBarriers = new ReentrantReadWriteLock[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            moveBarriers[shard] = new ReentrantReadWriteLock();
+        }
+    }
+
+    // The databases are the source of truth for where a user lives: rows outside a shard's own id range were moved there.
+    @EventListener(ContextRefreshedEvent.class)
+    public void loadMovedUsuarios() {
+        if (shardCount == 1) {
+            return;
+        }
+        movedUsuarios.clear();
+        for (int shard = 0; shard < shardCount; shard++) {
+            long fromId = shard * ShardRoutingDataSource.ID_RANGE;
+            List<Long> ids = new JdbcTemplate(routingDataSource.getShard(shard)).queryForList(
+                    "select id from usuario where id < ? or id >= ?", Long.class, fromId, fromId + ShardRoutingDataSource.ID_RANGE);
+            for (Long id : ids) {
+                movedUsuarios.put(id, shard);
+            }
+        }
+    }
+
+    @Override
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public int getShardOfUsuario(Long usuarioId) {
+        if (shardCount == 1 || usuarioId == null) {
+            return 0;
+        }
+        Integer moved = movedUsuarios.get(usuarioId);
+        return moved != null ? moved : homeShard(usuarioId);
+    }
+
+    @Override
+    public int nextShardForNewUsuario() {
+        return shardCount == 1 ? 0 : Math.floorMod(nextShard.getAndIncrement(), shardCount);
+    }
+
+    @Override
+    public List<Integer> getShardsForTask(Long taskId) {
+        if (shardCount == 1) {
+            return List.of(0);
+        }
+        int home = homeShard(taskId);
+        List<Integer> shards = new ArrayList<>(shardCount);
+        shards.add(home);
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (shard != home) {
+                shards.add(shard);
+            }
+        }
+        return shards;
+    }
+
+    @Override
+    public void moveUsuario(Long usuarioId, int shard) {
+        if (shard == homeShard(usuarioId)) {
+            movedUsuarios.remove(usuarioId);
+        } else {
+            movedUsuarios.put(usuarioId, shard);
+        }
+    }
+
+    @Override
+    public <T> T callForUsuario(Long usuarioId, IntFunction<T> action) {
+        while (true) {
+            int shard = getShardOfUsuario(usuarioId);
+            if (shardCount == 1) {
+                return action.apply(shard);
+            }
+            Lock barrier = moveBarriers[shard].readLock();
+            barrier.lock();
+            try {
+                if (getShardOfUsuario(usuarioId) == shard) {
+                    return action.apply(shard);
+                }
+            } finally {
+                barrier.unlock();
+            }
+        }
+    }
+
+    @Override
+    public <T> T callOnShard(int shard, Supplier<T> action) {
+        if (shardCount == 1) {
+            return action.get();
+        }
+        // A transaction keeps the connection it started with, so switching shards inside one would be silently ignored.
+        // A read-only one only reads, so the other shard can be read in a transaction of its own instead.
+        Integer current = ShardRoutingDataSource.getCurrentShard();
+        int effective = current != null ? current : 0;
+        boolean nested = shard != effective && TransactionSynchronizationManager.isActualTransactionActive();
+        if (nested && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            throw new IllegalStateException("Cannot switch to shard " + shard + " inside a transaction on shard " + effective);
+        }
+        Lock barrier = moveBarriers[shard].readLock();
+        barrier.lock();
+        Integer previous = ShardRoutingDataSource.setCurrentShard(shard);
+        try {
+            return nested ? nestedReadOnlyTransaction.execute(status -> action.get()) : action.get();
+        } finally {
+            ShardRoutingDataSource.setCurrentShard(previous);
+            barrier.unlock();
+        }
+    }
+
+    @Override
+    public void runWithShardBlocked(int shard, Runnable action) {
+        if (shardCount == 1) {
+            action.run();
+            return;
+        }
+        // The holder can still call the shard itself: a write lock holder may take the read lock too.
+        Lock barrier = moveBarriers[shard].writeLock();
+        barrier.lock();
+        try {
+            action.run();
+        } finally {
+            barrier.unlock();
+        }
+    }
+
+    @Override
+    public void runOnShard(int shard, Runnable action) {
+        callOnShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public <T> T callInTransactionOnShard(int shard, boolean readOnly, Supplier<T> action) {
+        TransactionTemplate template = readOnly ? readOnlyTransaction : transaction;
+        return callOnShard(shard, () -> template.execute(status -> action.get()));
+    }
+
+    @Override
+    public void runInTransactionOnShard(int shard, boolean readOnly, Runnable action) {
+        callInTransactionOnShard(shard, readOnly, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public <T> List<T> callOnEachShard(Supplier<T> action) {
+        if (shardCount == 1) {
+            return Collections.singletonList(action.get());
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            results.add(callOnShard(shard, action));
+        }
+        return results;
+    }
+
+    @Override
+    public boolean anyShardMatches(BooleanSupplier check) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (callOnShard(shard, check::getAsBoolean)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int homeShard(long id) {
+        long shard = id / ShardRoutingDataSource.ID_RANGE;
+        return shard >= 0 && shard < shardCount ? (int) shard : Math.floorMod(id, shardCount);
+    }
+}
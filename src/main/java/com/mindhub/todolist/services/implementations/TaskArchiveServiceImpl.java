@@ -0,0 +1,270 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mindhub.todolist.dtos.ArchiveStatsDto;
+import com.mindhub.todolist.dtos.ArchivedTaskDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.events.TasksArchivedEvent;
+import com.mindhub.todolist.exceptions.TaskNotFoundExc;
+import com.mindhub.todolist.models.Task;
+import com.mindhub.todolist.models.TaskArchiveSegment;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.repositories.TaskArchiveSegmentRepository;
+import com.mindhub.todolist.repositories.TaskRepository;
+import com.mindhub.todolist.services.ShardRoutingService;
+import com.mindhub.todolist.services.TaskArchiveService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Archived tasks are kept as gzip-compressed NDJSON segments in the same database as the user, so moving them
+// and deleting them from the task table commit together.
+@Service
+@Profile("!reactive")
+@Timed("todolist.service")
+public class TaskArchiveServiceImpl implements TaskArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiveServiceImpl.class);
+
+    private static final int USUARIOS_PER_TRANSACTION = 100;
+
+    // Keeps a segment well under TaskArchiveSegment.MAX_PAYLOAD_BYTES even with the longest titles and descriptions.
+    private static final int MAX_TASKS_PER_SEGMENT = 500;
+
+    @Autowired
+    private final TaskRepository taskRepository;
+
+    @Autowired
+    private final TaskArchiveSegmentRepository taskArchiveSegmentRepository;
+
+    @Autowired
+    private final ShardRoutingService shardRoutingService;
+
+    @Autowired
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectWriter writer;
+
+    private final ObjectReader reader;
+
+    private final Duration completedAfter;
+
+    public TaskArchiveServiceImpl(TaskRepository taskRepository, TaskArchiveSegmentRepository taskArchiveSegmentRepository,
+                                  ShardRoutingService shardRoutingService, ApplicationEventPublisher eventPublisher,
+                                  JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                  @Value("${todolist.archive.completed-after}") Duration completedAfter) {
+        this.taskRepository = taskRepository;
+        this.taskArchiveSegmentRepository = taskArchiveSegmentRepository;
+        this.shardRoutingService = shardRoutingService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writer = objectMapper.writerFor(ArchivedTaskDto.class);
+        this.reader = objectMapper.readerFor(ArchivedTaskDto.class);
+        this.completedAfter = completedAfter;
+    }
+
+    @Scheduled(initialDelayString = "${todolist.archive.interval}", fixedDelayString = "${todolist.archive.interval}")
+    public void archiveCompleted() {
+        long archived = archiveCompletedBefore(LocalDateTime.now().minus(completedAfter));
+        if (archived > 0) {
+            log.info("Archived {} tasks completed more than {} ago", archived, completedAfter);
+        }
+    }
+
+    // Synchronized with the restores so a segment is never rewritten by two of them at once.
+    @Override
+    public synchronized long archiveCompletedBefore(LocalDateTime before) {
+        long archived = 0;
+        for (int shard = 0; shard < shardRoutingService.getShardCount(); shard++) {
+            int currentShard = shard;
+            List<Long> usuarioIds = shardRoutingService.callInTransactionOnShard(shard, true,
+                    () -> taskRepository.findUsuarioIdsWithTasksUpdatedBefore(TaskStatus.COMPLETED, before));
+            // A transaction per group of users keeps the locks and the undo log small on a large backlog.
+            for (int from = 0; from < usuarioIds.size(); from += USUARIOS_PER_TRANSACTION) {
+                List<Long> group = usuarioIds.subList(from, Math.min(from + USUARIOS_PER_TRANSACTION, usuarioIds.size()));
+                archived += shardRoutingService.callInTransactionOnShard(currentShard, false,
+                        () -> archiveGroup(group, before));
+            }
+        }
+        return archived;
+    }
+
+    private long archiveGroup(List<Long> usuarioIds, LocalDateTime before) {
+        List<Task> tasks = taskRepository.findForArchive(usuarioIds, TaskStatus.COMPLETED, before);
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<ArchivedTaskDto>> byUsuario = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            Long usuarioId = task.getUsuario().getId();
+            byUsuario.computeIfAbsent(usuarioId, id -> new ArrayList<>()).add(new ArchivedTaskDto(task.getId(),
+                    task.getTitle(), task.getDescription(), usuarioId, task.getVersion(), task.getUpdatedAt()));
+        }
+
+        // The delete clears the persistence context, so it runs before the segments are saved.
+        taskRepository.deleteByIdIn(tasks.stream().map(Task::getId).toList());
+        byUsuario.forEach((usuarioId, archived) -> {
+            for (int from = 0; from < archived.size(); from += MAX_TASKS_PER_SEGMENT) {
+                saveSegment(usuarioId, archived.subList(from, Math.min(from + MAX_TASKS_PER_SEGMENT, archived.size())));
+            }
+            eventPublisher.publishEvent(TasksArchivedEvent.archived(usuarioId, toTaskDtos(archived)));
+        });
+        return tasks.size();
+    }
+
+    @Override
+    public void exportArchivedTasks(Long usuarioId, Consumer<ArchivedTaskDto> consumer) {
+        shardRoutingService.runInTransactionOnShard(shardRoutingService.getShardOfUsuario(usuarioId), true, () -> {
+            // One segment decompressed at a time; what was written is dropped from the persistence context.
+            try (Stream<TaskArchiveSegment> segments = taskArchiveSegmentRepository.streamByUsuarioId(usuarioId)) {
+                segments.forEach(segment -> {
+                    decode(segment, consumer);
+                    entityManager.detach(segment);
+                });
+            }
+        });
+    }
+
+    @Override
+    public synchronized List<TaskDto> restoreByUsuarioId(Long usuarioId) {
+        return shardRoutingService.callForUsuario(usuarioId, shard -> shardRoutingService.callInTransactionOnShard(shard, false, () -> {
+            List<TaskArchiveSegment> segments = taskArchiveSegmentRepository.findByUsuarioIdOrderByIdAsc(usuarioId);
+            List<ArchivedTaskDto> tasks = new ArrayList<>();
+            segments.forEach(segment -> decode(segment, tasks::add));
+            taskArchiveSegmentRepository.deleteAllInBatch(segments);
+            insertTasks(tasks);
+            List<TaskDto> restored = toTaskDtos(tasks);
+            if (!restored.isEmpty()) {
+                eventPublisher.publishEvent(TasksArchivedEvent.restored(usuarioId, restored));
+            }
+            return restored;
+        }));
+    }
+
+    @Override
+    public synchronized TaskDto restoreTask(Long taskId) {
+        for (int shard : shardRoutingService.getShardsForTask(taskId)) {
+            TaskDto restored = shardRoutingService.callInTransactionOnShard(shard, false, () -> restoreTaskOnShard(taskId));
+            if (restored != null) {
+                return restored;
+            }
+        }
+        throw new TaskNotFoundExc("Archived task not found with ID: " + taskId);
+    }
+
+    // Null when no segment on the shard holds the task.
+    private TaskDto restoreTaskOnShard(Long taskId) {
+        for (TaskArchiveSegment segment : taskArchiveSegmentRepository.findCoveringTaskId(taskId)) {
+            List<ArchivedTaskDto> tasks = new ArrayList<>();
+            decode(segment, tasks::add);
+            ArchivedTaskDto task = tasks.stream().filter(archived -> archived.getId().equals(taskId)).findFirst().orElse(null);
+            if (task == null) {
+                continue;
+            }
+            // Segments are immutable: the rest of the tasks go into a new one.
+            tasks.remove(task);
+            taskArchiveSegmentRepository.delete(segment);
+            if (!tasks.isEmpty()) {
+                saveSegment(segment.getUsuarioId(), tasks);
+            }
+            insertTasks(List.of(task));
+            List<TaskDto> restored = toTaskDtos(List.of(task));
+            eventPublisher.publishEvent(TasksArchivedEvent.restored(task.getUsuarioId(), restored));
+            return restored.get(0);
+        }
+        return null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ArchiveStatsDto getStats() {
+        long segments = 0, tasks = 0, bytes = 0;
+        for (TaskArchiveSegmentRepository.Totals totals : shardRoutingService.callOnEachShard(taskArchiveSegmentRepository::summarize)) {
+            segments += totals.getSegments();
+            tasks += totals.getTasks();
+            bytes += totals.getBytes();
+        }
+        return new ArchiveStatsDto(segments, tasks, bytes);
+    }
+
+    private void saveSegment(Long usuarioId, List<ArchivedTaskDto> tasks) {
+        taskArchiveSegmentRepository.save(new TaskArchiveSegment(usuarioId, tasks.get(0).getId(),
+                tasks.get(tasks.size() - 1).getId(), tasks.size(), encode(tasks)));
+    }
+
+    // Back with their ids, and updated now so they are not archived again on the next run.
+    private void insertTasks(List<ArchivedTaskDto> tasks) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "insert into task (id, title, description, task_status, usuario_id, version, updated_at) values (?, ?, ?, ?, ?, ?, ?)",
+                tasks.stream()
+                        .map(task -> new Object[]{task.getId(), task.getTitle(), task.getDescription(),
+                                TaskStatus.COMPLETED.name(), task.getUsuarioId(), task.getVersion() + 1, now})
+                        .toList());
+    }
+
+    private byte[] encode(List<ArchivedTaskDto> tasks) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (ArchivedTaskDto task : tasks) {
+                gzip.write(writer.writeValueAsBytes(task));
+                gzip.write('\n');
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void decode(TaskArchiveSegment segment, Consumer<ArchivedTaskDto> consumer) {
+        try (MappingIterator<ArchivedTaskDto> tasks = reader.readValues(
+                new GZIPInputStream(new ByteArrayInputStream(segment.getPayload())))) {
+            while (tasks.hasNext()) {
+                consumer.accept(tasks.next());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static List<TaskDto> toTaskDtos(List<ArchivedTaskDto> tasks) {
+        return tasks.stream()
+                .map(task -> new TaskDto(task.getId(), task.getTitle(), task.getDescription(), TaskStatus.COMPLETED))
+                .toList();
+    }
+}
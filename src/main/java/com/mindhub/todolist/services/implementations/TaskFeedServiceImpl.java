@@ -0,0 +1,295 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskFeedEventDto;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TaskStatusChangedEvent;
+import com.mindhub.todolist.events.TasksArchivedEvent;
+import com.mindhub.todolist.events.TasksDeletedEvent;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.services.TaskFeedService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@Profile("!reactive")
+@Timed("todolist.service")
+public class TaskFeedServiceImpl implements TaskFeedService {
+
+    private static final FeedEvent HEARTBEAT = new FeedEvent(0, null, null, null);
+
+    // Sends block on slow clients, so they get threads of their own instead of the MVC async pool. At most one
+    // drain per subscriber is queued at a time, which bounds the queue by the number of subscribers.
+    private final ExecutorService feedExecutor;
+
+    private final Object lock = new Object();
+
+    // The last buffer.length events, indexed by sequence, for clients resuming with Last-Event-ID.
+    private final FeedEvent[] buffer;
+
+    private long lastSequence;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private final int subscriberQueueSize;
+
+    private final Duration timeout;
+
+    private final Counter droppedSubscribers;
+
+    public TaskFeedServiceImpl(MeterRegistry meterRegistry,
+                               @Value("${todolist.feed.threads}") int threads,
+                               @Value("${todolist.feed.buffer-size}") int bufferSize,
+                               @Value("${todolist.feed.subscriber-queue-size}") int subscriberQueueSize,
+                               @Value("${todolist.feed.timeout}") Duration timeout) {
+        this.feedExecutor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("task-feed-", 0).daemon().factory());
+        this.buffer = new FeedEvent[bufferSize];
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.timeout = timeout;
+        this.droppedSubscribers = Counter.builder("todolist.feed.dropped")
+                .description("Subscribers disconnected because their queue was full")
+                .register(meterRegistry);
+        Gauge.builder("todolist.feed.subscribers", subscribers, List::size).register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long usuarioId, TaskStatus taskStatus, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, usuarioId, taskStatus, subscriberQueueSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        // Replaying and registering under the publish lock means no event is missed or sent twice.
+        synchronized (lock) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long oldest = Math.max(1, lastSequence - buffer.length + 1);
+        // Events were evicted from the buffer, or the id is from before a restart started the sequence over:
+        // the client has to reload instead of resuming.
+        if (lastEventId < oldest - 1 || lastEventId > lastSequence) {
+            subscriber.backlog.add(new FeedEvent(0, new TaskFeedEventDto("RESET", null, null, null, null, null, null, null), null, null));
+        }
+        for (long sequence = Math.max(lastEventId + 1, oldest); sequence <= lastSequence; sequence++) {
+            FeedEvent event = buffer[(int) (sequence % buffer.length)];
+            if (subscriber.matches(event)) {
+                subscriber.backlog.add(event);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        boolean deleted = event.getType() == TaskChangedEvent.Type.DELETED;
+        Long usuarioId = deleted ? event.getPreviousUsuarioId() : event.getUsuarioId();
+        TaskStatus taskStatus = deleted ? event.getPreviousStatus() : event.getTask().getTasksStatus();
+        // A task leaving a user or a status is news for subscribers filtering on the old value too.
+        publish(new TaskFeedEventDto(event.getType().name(), event.getTaskId(), null, usuarioId, event.getTask(),
+                        deleted ? taskStatus : null, null, null),
+                setOf(usuarioId, event.getPreviousUsuarioId()),
+                setOf(taskStatus, event.getPreviousStatus()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksDeleted(TasksDeletedEvent event) {
+        TaskFeedEventDto payload = new TaskFeedEventDto("BULK_DELETED", null, null, null, null,
+                event.getTaskStatus(), event.getTaskStatus() == null ? event.getUsuarioIds() : null, event.getCount());
+        if (event.getTaskStatus() != null) {
+            publish(payload, null, Set.of(event.getTaskStatus()));
+        } else {
+            publish(payload, new HashSet<>(event.getUsuarioIds()), null);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksArchived(TasksArchivedEvent event) {
+        List<Long> taskIds = event.getTasks().stream().map(TaskDto::getId).toList();
+        publish(new TaskFeedEventDto(event.getType().name(), null, taskIds, event.getUsuarioId(), null,
+                        TaskStatus.COMPLETED, null, (long) taskIds.size()),
+                Set.of(event.getUsuarioId()), Set.of(TaskStatus.COMPLETED));
+    }
+
+    // The owners of the changed tasks are not known, so subscribers filtering by user get every status change.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskStatusChanged(TaskStatusChangedEvent event) {
+        List<Long> taskIds = event.getTaskIds();
+        TaskFeedEventDto payload = taskIds.size() == 1
+                ? new TaskFeedEventDto("STATUS_CHANGED", taskIds.get(0), null, null, null, event.getTaskStatus(), null, event.getCount())
+                : new TaskFeedEventDto("STATUS_CHANGED", null, taskIds, null, null, event.getTaskStatus(), null, event.getCount());
+        publish(payload, null, event.getExpectedStatus() != null
+                ? setOf(event.getTaskStatus(), event.getExpectedStatus())
+                : null);
+    }
+
+    // Comments keep idle connections open through proxies and let us notice clients that went away.
+    @Scheduled(fixedRateString = "${todolist.feed.heartbeat-interval}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    // Drains blocked on a client write are interrupted; the container completes their emitters.
+    @PreDestroy
+    public void shutdown() {
+        feedExecutor.shutdownNow();
+    }
+
+    private void publish(TaskFeedEventDto payload, Set<Long> usuarioIds, Set<TaskStatus> statuses) {
+        synchronized (lock) {
+            FeedEvent event = new FeedEvent(++lastSequence, payload, usuarioIds, statuses);
+            buffer[(int) (event.sequence % buffer.length)] = event;
+            // Writers only ever enqueue; a subscriber that cannot keep up is cut off and resumes from the buffer.
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.matches(event) || subscriber.lagging) {
+                    continue;
+                }
+                if (!subscriber.queue.offer(event)) {
+                    subscriber.lagging = true;
+                    subscriber.queue.clear();
+                    droppedSubscribers.increment();
+                }
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            feedExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            FeedEvent event;
+            while ((event = subscriber.next()) != null) {
+                if (event == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (event.sequence == 0) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name(event.payload.getType())
+                            .data(event.payload, MediaType.APPLICATION_JSON));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.sequence))
+                            .name(event.payload.getType())
+                            .data(event.payload, MediaType.APPLICATION_JSON));
+                }
+            }
+            if (subscriber.lagging) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // The client is gone; the container completes the emitter.
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event enqueued between the last poll and clearing the flag would otherwise wait for the next one.
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    @SafeVarargs
+    private static <T> Set<T> setOf(T... values) {
+        Set<T> result = new HashSet<>();
+        for (T value : values) {
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    // usuarioIds or statuses null means the event may concern any of them.
+    private static final class FeedEvent {
+
+        private final long sequence;
+
+        private final TaskFeedEventDto payload;
+
+        private final Set<Long> usuarioIds;
+
+        private final Set<TaskStatus> statuses;
+
+        private FeedEvent(long sequence, TaskFeedEventDto payload, Set<Long> usuarioIds, Set<TaskStatus> statuses) {
+            this.sequence = sequence;
+            this.payload = payload;
+            this.usuarioIds = usuarioIds;
+            this.statuses = statuses;
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Long usuarioId;
+
+        private final TaskStatus taskStatus;
+
+        // Replayed events, filled once before the subscriber is registered.
+        private final Queue<FeedEvent> backlog = new ArrayDeque<>();
+
+        private final ArrayBlockingQueue<FeedEvent> queue;
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean lagging;
+
+        private Subscriber(SseEmitter emitter, Long usuarioId, TaskStatus taskStatus, int queueSize) {
+            this.emitter = emitter;
+            this.usuarioId = usuarioId;
+            this.taskStatus = taskStatus;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        private boolean matches(FeedEvent event) {
+            return (usuarioId == null || event.usuarioIds == null || event.usuarioIds.contains(usuarioId))
+                    && (taskStatus == null || event.statuses == null || event.statuses.contains(taskStatus));
+        }
+
+        // Only the draining thread reads the backlog, and only after registration has published it.
+        private FeedEvent next() {
+            FeedEvent event = backlog.poll();
+            return event != null ? event : queue.poll();
+        }
+    }
+}
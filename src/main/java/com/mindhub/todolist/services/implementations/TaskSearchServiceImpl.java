@@ -0,0 +1,351 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskSearchResultDto;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TaskStatusChangedEvent;
+import com.mindhub.todolist.events.TasksArchivedEvent;
+import com.mindhub.todolist.events.TasksDeletedEvent;
+import com.mindhub.todolist.models.Task;
+import com.mindhub.todolist.repositories.TaskRepository;
+import com.mindhub.todolist.services.ShardRoutingService;
+import com.mindhub.todolist.services.TaskSearchService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Service
+@Profile("!reactive")
+@Timed("todolist.service")
+public class TaskSearchServiceImpl implements TaskSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // A title hit counts as much as three description hits.
+    private static final int TITLE_WEIGHT = 3;
+
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final int NGRAM_LENGTH = 3;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Map.Entry<Long, Double>> BY_RANK =
+            Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    @Autowired
+    private final TaskRepository taskRepository;
+
+    @Autowired
+    private final ShardRoutingService shardRoutingService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (task id -> weighted term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    // trigram -> terms containing it, so substring queries only look at a handful of terms
+    private final Map<String, Set<String>> ngrams = new HashMap<>();
+
+    // sorted terms, for queries too short to have a trigram
+    private final NavigableSet<String> vocabulary = new TreeSet<>();
+
+    private final Map<Long, IndexedTask> tasks = new HashMap<>();
+
+    public TaskSearchServiceImpl(TaskRepository taskRepository, ShardRoutingService shardRoutingService,
+                                 MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.shardRoutingService = shardRoutingService;
+        Gauge.builder("todolist.search.indexed.tasks", tasks, Map::size).register(meterRegistry);
+        Gauge.builder("todolist.search.terms", postings, Map::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        // Holding the write lock while loading makes concurrent change events wait and apply on top of the snapshot.
+        lock.writeLock().lock();
+        try {
+            tasks.clear();
+            postings.clear();
+            ngrams.clear();
+            vocabulary.clear();
+            for (int shard = 0; shard < shardRoutingService.getShardCount(); shard++) {
+                shardRoutingService.runInTransactionOnShard(shard, true, this::indexShard);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexShard() {
+        try (Stream<Task> stream = taskRepository.streamAllByOrderByIdAsc()) {
+            int count = 0;
+            for (Task task : (Iterable<Task>) stream::iterator) {
+                add(new TaskDto(task), task.getUsuario() != null ? task.getUsuario().getId() : null);
+                if (++count % TaskRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                } else {
+                    entityManager.detach(task);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getTaskId());
+            if (event.getType() != TaskChangedEvent.Type.DELETED) {
+                add(event.getTask(), event.getUsuarioId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksDeleted(TasksDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            List<Long> deletedIds = new ArrayList<>();
+            tasks.forEach((id, indexed) -> {
+                if (event.getTaskStatus() != null && event.getTaskStatus() == indexed.task.getTasksStatus()
+                        || event.getUsuarioIds().contains(indexed.usuarioId)) {
+                    deletedIds.add(id);
+                }
+            });
+            deletedIds.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Only the task table is searchable; archived tasks come back with a restore.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksArchived(TasksArchivedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (TaskDto task : event.getTasks()) {
+                remove(task.getId());
+                if (event.getType() == TasksArchivedEvent.Type.RESTORED) {
+                    add(task, event.getUsuarioId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Text is unchanged, only the status kept for bulk deletes has to follow; the same guard as the UPDATE applies.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskStatusChanged(TaskStatusChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Long taskId : event.getTaskIds()) {
+                IndexedTask indexed = tasks.get(taskId);
+                if (indexed == null || event.getExpectedStatus() != null
+                        && indexed.task.getTasksStatus() != event.getExpectedStatus()) {
+                    continue;
+                }
+                TaskDto task = new TaskDto(taskId, indexed.task.getTitle(), indexed.task.getDescription(), event.getTaskStatus());
+                tasks.put(taskId, new IndexedTask(task, indexed.usuarioId, indexed.terms));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public TaskSearchResultDto search(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(page, 0);
+        List<String> queryTerms = tokenize(query).stream().distinct().toList();
+        if (queryTerms.isEmpty()) {
+            return new TaskSearchResultDto(List.of(), 0, pageNumber, pageSize);
+        }
+
+        lock.readLock().lock();
+        try {
+            // Every query term has to match (AND); the scores of the terms add up.
+            Map<Long, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = score(queryTerm);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            long from = (long) pageNumber * pageSize;
+            if (from >= scores.size()) {
+                return new TaskSearchResultDto(List.of(), scores.size(), pageNumber, pageSize);
+            }
+            List<Map.Entry<Long, Double>> ranked = topRanked(scores, (int) from + pageSize);
+            List<TaskDto> items = ranked.subList((int) from, ranked.size())
+                    .stream()
+                    .map(entry -> tasks.get(entry.getKey()).task)
+                    .toList();
+            return new TaskSearchResultDto(items, scores.size(), pageNumber, pageSize);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> score(String queryTerm) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : matchingTerms(queryTerm)) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            double idf = Math.log(1 + (double) tasks.size() / termPostings.size());
+            // Whole-word hits rank above tasks that only contain the query inside a longer word.
+            double boost = term.equals(queryTerm) ? 1.0 : 0.5;
+            termPostings.forEach((id, frequency) -> scores.merge(id, frequency * idf * boost, Double::sum));
+        }
+        return scores;
+    }
+
+    private Collection<String> matchingTerms(String queryTerm) {
+        if (queryTerm.length() < NGRAM_LENGTH) {
+            return vocabulary.subSet(queryTerm, true, queryTerm + Character.MAX_VALUE, true);
+        }
+        // Any term containing the query contains all of its trigrams, so the rarest trigram is enough to narrow down.
+        Set<String> candidates = null;
+        for (String ngram : ngramsOf(queryTerm)) {
+            Set<String> terms = ngrams.get(ngram);
+            if (terms == null) {
+                return List.of();
+            }
+            if (candidates == null || terms.size() < candidates.size()) {
+                candidates = terms;
+            }
+        }
+        return candidates.stream().filter(term -> term.contains(queryTerm)).toList();
+    }
+
+    // Keeps only the best `limit` hits in a heap instead of sorting every match.
+    private static List<Map.Entry<Long, Double>> topRanked(Map<Long, Double> scores, int limit) {
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(limit + 1, BY_RANK.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(heap);
+        ranked.sort(BY_RANK);
+        return ranked;
+    }
+
+    private void add(TaskDto task, Long usuarioId) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(task.getTitle()).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(task.getDescription()).forEach(term -> frequencies.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        frequencies.forEach((term, frequency) -> {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings == null) {
+                termPostings = new HashMap<>();
+                postings.put(term, termPostings);
+                vocabulary.add(term);
+                for (String ngram : ngramsOf(term)) {
+                    ngrams.computeIfAbsent(ngram, key -> new HashSet<>()).add(term);
+                }
+            }
+            termPostings.put(task.getId(), frequency);
+        });
+        tasks.put(task.getId(), new IndexedTask(task, usuarioId, frequencies.keySet()));
+    }
+
+    private void remove(Long taskId) {
+        IndexedTask indexed = tasks.remove(taskId);
+        if (indexed == null) {
+            return;
+        }
+        for (String term : indexed.terms) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            termPostings.remove(taskId);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+                vocabulary.remove(term);
+                for (String ngram : ngramsOf(term)) {
+                    Set<String> terms = ngrams.get(ngram);
+                    terms.remove(term);
+                    if (terms.isEmpty()) {
+                        ngrams.remove(ngram);
+                    }
+                }
+            }
+        }
+    }
+
+    // Lowercase, accent-insensitive words, so "Canción" is found by "cancion".
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(TOKEN_SEPARATOR.split(normalized))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private static Set<String> ngramsOf(String term) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + NGRAM_LENGTH <= term.length(); i++) {
+            result.add(term.substring(i, i + NGRAM_LENGTH));
+        }
+        return result;
+    }
+
+    private static final class IndexedTask {
+
+        private final TaskDto task;
+
+        private final Long usuarioId;
+
+        private final Set<String> terms;
+
+        private IndexedTask(TaskDto task, Long usuarioId, Set<String> terms) {
+            this.task = task;
+            this.usuarioId = usuarioId;
+            this.terms = terms;
+        }
+    }
+}
@@ -1,130 +1,458 @@
 package com.mindhub.todolist.services.implementations;
 
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.CursorPageDto;
 import com.mindhub.todolist.dtos.TaskDto;
 import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TaskStatusChangedEvent;
+import com.mindhub.todolist.events.TasksDeletedEvent;
+import com.mindhub.todolist.exceptions.CrossShardMoveExc;
+import com.mindhub.todolist.exceptions.InvalidStatusChangeExc;
 import com.mindhub.todolist.exceptions.TaskNotFoundExc;
-import com.mindhub.todolist.exceptions.UserNotFoundExc;
+import com.mindhub.todolist.exceptions.VersionConflictExc;
 import com.mindhub.todolist.models.Task;
 import com.mindhub.todolist.models.Usuario;
 import com.mindhub.todolist.models.enums.TaskStatus;
 import com.mindhub.todolist.repositories.TaskRepository;
 import com.mindhub.todolist.repositories.UsuarioRepository;
+import com.mindhub.todolist.repositories.VersionSummary;
+import com.mindhub.todolist.services.ExistenceCheckService;
+import com.mindhub.todolist.services.ShardRoutingService;
 import com.mindhub.todolist.services.TaskService;
+import com.mindhub.todolist.services.UsuarioService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("todolist.service")
 public class TaskServiceImpl implements TaskService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    private static final int DELETE_CHUNK_SIZE = 10_000;
+
     @Autowired
     private final TaskRepository taskRepository;
     @Autowired
     private final UsuarioRepository usuarioRepository;
 
-    public TaskServiceImpl(TaskRepository taskRepository, UsuarioRepository usuarioRepository) {
+    @Autowired
+    private final UsuarioService usuarioService;
+
+    @Autowired
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private final ExistenceCheckService existenceCheckService;
+
+    @Autowired
+    private final ShardRoutingService shardRoutingService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TaskServiceImpl(TaskRepository taskRepository, UsuarioRepository usuarioRepository,
+                           UsuarioService usuarioService, ApplicationEventPublisher eventPublisher,
+                           ExistenceCheckService existenceCheckService, ShardRoutingService shardRoutingService) {
         this.taskRepository = taskRepository;
         this.usuarioRepository = usuarioRepository;
+        this.usuarioService = usuarioService;
+        this.eventPublisher = eventPublisher;
+        this.existenceCheckService = existenceCheckService;
+        this.shardRoutingService = shardRoutingService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDto> getAllTasks() {
-        return taskRepository.findAll()
-                .stream()
-                .map(TaskDto::new)
-                .toList();
+        return mergeById(shardRoutingService.callOnEachShard(taskRepository::findAllTaskDtos));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<TaskDto> getTasksPage(String after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Long afterId = CursorPageDto.decodeCursor(after);
+
+        // Ask for one extra row: if it comes back there is a next page, and it is not returned.
+        List<TaskDto> tasks = mergeById(shardRoutingService.callOnEachShard(
+                () -> taskRepository.findTaskDtosByIdGreaterThan(afterId, Limit.of(pageSize + 1))));
+        boolean hasNext = tasks.size() > pageSize;
+        List<TaskDto> items = hasNext ? tasks.subList(0, pageSize) : tasks;
+
+        String nextCursor = hasNext ? CursorPageDto.encodeCursor(items.get(items.size() - 1).getId()) : null;
+        return new CursorPageDto<>(items, nextCursor);
     }
 
     @Override
+    public void exportTasks(Consumer<TaskDto> consumer) {
+        // One read-only transaction per shard; rows are in id order within each shard.
+        for (int shard = 0; shard < shardRoutingService.getShardCount(); shard++) {
+            shardRoutingService.runInTransactionOnShard(shard, true, () -> exportShard(consumer));
+        }
+    }
+
+    private void exportShard(Consumer<TaskDto> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamAllByOrderByIdAsc()) {
+            int count = 0;
+            for (Task task : (Iterable<Task>) tasks::iterator) {
+                consumer.accept(new TaskDto(task));
+                // Drop what has already been written so the persistence context does not grow with the table.
+                if (++count % TaskRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                } else {
+                    entityManager.detach(task);
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public TaskDto getTaskById(Long id) {
-        Task task =  taskRepository.findById(id)
+        Task task = findOnTaskShards(id, () -> taskRepository.findById(id))
                 .orElseThrow(() -> new TaskNotFoundExc("Task not found with ID: " + id));
         return new TaskDto(task);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Long getTaskVersion(Long id) {
+        return findOnTaskShards(id, () -> taskRepository.findVersionById(id))
+                .orElseThrow(() -> new TaskNotFoundExc("Task not found with ID: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersionSummary getTasksVersionSummary() {
+        return VersionSummary.sum(shardRoutingService.callOnEachShard(taskRepository::summarizeVersions));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersionSummary getTasksVersionSummaryByStatus(TaskStatus taskStatus) {
+        return VersionSummary.sum(shardRoutingService.callOnEachShard(
+                () -> taskRepository.summarizeVersionsByTaskStatus(taskStatus)));
+    }
+
     @Override
     public TaskDto createTask(TaskInputDto taskInputDto) {
+        // Tasks live on the shard of their user.
+        return shardRoutingService.callForUsuario(taskInputDto.getUsuarioId(),
+                shard -> shardRoutingService.callInTransactionOnShard(shard, false, () -> saveNewTask(taskInputDto)));
+    }
+
+    private TaskDto saveNewTask(TaskInputDto taskInputDto) {
         Task task = new Task();
         task.setTitle(taskInputDto.getTitle());
         task.setDescription(taskInputDto.getDescription());
         task.setTaskStatus(taskInputDto.getTasksStatus());
 
         if (taskInputDto.getUsuarioId() != null) {
-            Usuario usuario = usuarioRepository.findById(taskInputDto.getUsuarioId())
-                    .orElseThrow(() -> new UserNotFoundExc("User not found by ID: "));
+            Usuario usuario = getUsuarioReference(taskInputDto.getUsuarioId());
             task.setUsuario(usuario);
         }
 
         Task savedTask = taskRepository.save(task);
-        return new TaskDto(savedTask);
+        TaskDto taskDto = new TaskDto(savedTask);
+        eventPublisher.publishEvent(TaskChangedEvent.created(taskDto, usuarioIdOf(savedTask)));
+        return taskDto;
     }
 
     @Override
-    public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new RuntimeException("Task not found by ID: ");
+    public List<BulkResultDto> createTasks(List<TaskInputDto> taskInputDtos) {
+        // Each task goes to the shard of its user, with one transaction per shard.
+        Map<Integer, List<Integer>> indexesByShard = new TreeMap<>();
+        for (int i = 0; i < taskInputDtos.size(); i++) {
+            int shard = shardRoutingService.getShardOfUsuario(taskInputDtos.get(i).getUsuarioId());
+            indexesByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(i);
+        }
+
+        List<BulkResultDto> results = new ArrayList<>(taskInputDtos.size());
+        indexesByShard.forEach((shard, indexes) -> shardRoutingService.runInTransactionOnShard(shard, false,
+                () -> createTasksOnShard(taskInputDtos, indexes, results)));
+
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return results;
+    }
+
+    private void createTasksOnShard(List<TaskInputDto> taskInputDtos, List<Integer> indexes, List<BulkResultDto> results) {
+        // Resolve every referenced user with a single query instead of one findById per row.
+        List<Long> usuarioIds = indexes.stream()
+                .map(i -> taskInputDtos.get(i).getUsuarioId())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, Usuario> usuarios = usuarioRepository.findAllById(usuarioIds)
+                .stream()
+                .collect(Collectors.toMap(Usuario::getId, Function.identity()));
+
+        List<Task> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(BULK_CHUNK_SIZE);
+
+        for (int i : indexes) {
+            TaskInputDto taskInputDto = taskInputDtos.get(i);
+            Long usuarioId = taskInputDto.getUsuarioId();
+            if (usuarioId != null && !usuarios.containsKey(usuarioId)) {
+                results.add(BulkResultDto.failed(i, "User not found by ID: " + usuarioId));
+                continue;
+            }
+
+            Task task = new Task(taskInputDto.getTitle(), taskInputDto.getDescription(), taskInputDto.getTasksStatus());
+            task.setUsuario(usuarioId != null ? usuarios.get(usuarioId) : null);
+            chunk.add(task);
+            chunkIndexes.add(i);
+
+            if (chunk.size() == BULK_CHUNK_SIZE) {
+                flushChunk(chunk, chunkIndexes, results);
+            }
+        }
+        flushChunk(chunk, chunkIndexes, results);
+    }
+
+    private void flushChunk(List<Task> chunk, List<Integer> chunkIndexes, List<BulkResultDto> results) {
+        if (chunk.isEmpty()) {
+            return;
         }
-        taskRepository.deleteById(id);
+        taskRepository.saveAll(chunk);
+        // Flush sends the inserts as JDBC batches; clear keeps the persistence context from growing.
+        entityManager.flush();
+        entityManager.clear();
+        for (int i = 0; i < chunk.size(); i++) {
+            Task task = chunk.get(i);
+            results.add(BulkResultDto.created(chunkIndexes.get(i), task.getId()));
+            eventPublisher.publishEvent(TaskChangedEvent.created(new TaskDto(task), usuarioIdOf(task)));
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private Usuario getUsuarioReference(Long usuarioId) {
+        // The cached lookup throws UserNotFoundExc for unknown ids, so only the foreign key proxy is needed here.
+        // Called inside the write transaction, a cache miss joins it and reads the primary: with the replicas
+        // profile a user created by an earlier request may not have reached the replica yet.
+        usuarioService.getUsuarioById(usuarioId);
+        return usuarioRepository.getReferenceById(usuarioId);
+    }
+
+    private static Long usuarioIdOf(Task task) {
+        // Reading the id of a lazy proxy does not initialize it.
+        return task.getUsuario() != null ? task.getUsuario().getId() : null;
+    }
+
+    // Asks the shard that created the task first; the others only hold it if its user was moved.
+    private <T> Optional<T> findOnTaskShards(Long id, Supplier<Optional<T>> lookup) {
+        for (int shard : shardRoutingService.getShardsForTask(id)) {
+            Optional<T> found = shardRoutingService.callOnShard(shard, lookup);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Falls back to the first candidate, where the lookup then fails just as it does on a single database.
+    private int findTaskShard(Long id) {
+        List<Integer> shards = shardRoutingService.getShardsForTask(id);
+        if (shards.size() > 1) {
+            for (int shard : shards) {
+                if (shardRoutingService.callOnShard(shard, () -> taskRepository.existsById(id))) {
+                    return shard;
+                }
+            }
+        }
+        return shards.get(0);
+    }
+
+    private static List<TaskDto> mergeById(List<List<TaskDto>> perShard) {
+        if (perShard.size() == 1) {
+            return perShard.get(0);
+        }
+        return perShard.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(TaskDto::getId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void deleteTask(Long id) {
+        shardRoutingService.runOnShard(findTaskShard(id), () -> deleteTaskOnShard(id));
+    }
+
+    private void deleteTaskOnShard(Long id) {
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found by ID: "));
+        taskRepository.delete(task);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id, task.getTaskStatus(), usuarioIdOf(task)));
     }
 
     @Override
-    public TaskDto updateTask(Long id, TaskInputDto taskInputDto) {
+    public TaskDto updateTask(Long id, TaskInputDto taskInputDto, Long expectedVersion) {
+        int shard = findTaskShard(id);
+        return shardRoutingService.callInTransactionOnShard(shard, false,
+                () -> updateTaskOnShard(shard, id, taskInputDto, expectedVersion));
+    }
+
+    private TaskDto updateTaskOnShard(int shard, Long id, TaskInputDto taskInputDto, Long expectedVersion) {
         Task existingTask = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+        // A write that commits after this check still fails, on the version column of the UPDATE.
+        if (expectedVersion != null && !expectedVersion.equals(existingTask.getVersion())) {
+            throw new VersionConflictExc("Task " + id + " has changed, current version is " + existingTask.getVersion());
+        }
+        TaskStatus previousStatus = existingTask.getTaskStatus();
+        Long previousUsuarioId = usuarioIdOf(existingTask);
 
         existingTask.setTitle(taskInputDto.getTitle());
         existingTask.setDescription(taskInputDto.getDescription());
         existingTask.setTaskStatus(taskInputDto.getTasksStatus());
 
         if (taskInputDto.getUsuarioId() != null) {
-            Usuario usuario = usuarioRepository.findById(taskInputDto.getUsuarioId())
-                    .orElseThrow(() -> new UserNotFoundExc("User not found by ID: "));
+            if (shardRoutingService.getShardOfUsuario(taskInputDto.getUsuarioId()) != shard) {
+                throw new CrossShardMoveExc("Task " + id + " cannot move to user " + taskInputDto.getUsuarioId()
+                        + ", who is on another shard");
+            }
+            Usuario usuario = getUsuarioReference(taskInputDto.getUsuarioId());
             existingTask.setUsuario(usuario);
         }
 
-        Task updatedTask = taskRepository.save(existingTask);
-        return new TaskDto(updatedTask);
+        Task updatedTask = taskRepository.saveAndFlush(existingTask);
+        TaskDto taskDto = new TaskDto(updatedTask);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(taskDto, usuarioIdOf(updatedTask), previousStatus, previousUsuarioId));
+        return taskDto;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDto> getFindByTaskStatus(TaskStatus taskStatus) {
-        return taskRepository.findByTaskStatus(taskStatus)
-                .stream()
-                .map(TaskDto::new)
-                .toList();
+        return mergeById(shardRoutingService.callOnEachShard(() -> taskRepository.findTaskDtosByTaskStatus(taskStatus)));
     }
 
     @Override
     public boolean getExistsByTitle(String title) {
-        return taskRepository.existsByTitle(title);
+        return existenceCheckService.existsByTitle(title);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Long getCountByUsuarioId(Long usuarioId) {
-        return taskRepository.countByUsuarioId(usuarioId);
+        return shardRoutingService.callOnShard(shardRoutingService.getShardOfUsuario(usuarioId),
+                () -> taskRepository.countByUsuarioId(usuarioId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDto> getfindByTitleOrderByIdAsc(String title) {
-        return taskRepository.findByTitleOrderByIdAsc(title)
-                .stream()
-                .map(TaskDto::new)
-                .toList();
+        return mergeById(shardRoutingService.callOnEachShard(() -> taskRepository.findTaskDtosByTitleOrderByIdAsc(title)));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean getExistsByTaskStatus(TaskStatus taskStatus) {
-        return taskRepository.existsByTaskStatus(taskStatus);
+        return shardRoutingService.anyShardMatches(() -> taskRepository.existsByTaskStatus(taskStatus));
     }
 
     @Override
-    @Transactional
-    public void deleteByTaskStatus(TaskStatus status) {
-        if (!taskRepository.existsByTaskStatus(status)) {
+    public long deleteByTaskStatus(TaskStatus status) {
+        List<Long> deletedPerShard = shardRoutingService.callOnEachShard(() -> deleteByTaskStatusOnShard(status));
+        if (deletedPerShard.stream().allMatch(Objects::isNull)) {
             throw new RuntimeException("No tasks found with status: " + status);
         }
-        taskRepository.deleteByTaskStatus(status);
+        long deleted = deletedPerShard.stream().filter(Objects::nonNull).mapToLong(Long::longValue).sum();
+        eventPublisher.publishEvent(TasksDeletedEvent.byStatus(status, deleted));
+        return deleted;
+    }
+
+    // Null when the shard has no task with the status.
+    private Long deleteByTaskStatusOnShard(TaskStatus status) {
+        // Keyset pages of the matching ids, one DELETE per page: memory and transaction size stay bounded however
+        // many rows match, and sparse ids (or a moved user's ids from another shard's block) cost no empty statements.
+        Long deleted = null;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = taskRepository.findIdsByTaskStatusAndIdGreaterThan(status, afterId, Limit.of(DELETE_CHUNK_SIZE));
+            if (ids.isEmpty()) {
+                return deleted;
+            }
+            long lastId = ids.get(ids.size() - 1);
+            long deletedInPage = taskRepository.deleteByTaskStatusAndIdRange(status, ids.get(0), lastId + 1);
+            deleted = deleted == null ? deletedInPage : deleted + deletedInPage;
+            afterId = lastId;
+        }
+    }
+
+    @Override
+    public int updateTaskStatus(Long id, TaskStatus status, TaskStatus expectedStatus) {
+        if (status == null) {
+            throw new InvalidStatusChangeExc("The new status is required");
+        }
+        for (int shard : shardRoutingService.getShardsForTask(id)) {
+            int updated = shardRoutingService.callInTransactionOnShard(shard, false, () -> {
+                // No findById or dirty checking: a single UPDATE, guarded by the expected status when given.
+                int updatedOnShard = taskRepository.updateStatusById(id, status, expectedStatus);
+                if (updatedOnShard > 0) {
+                    eventPublisher.publishEvent(
+                            new TaskStatusChangedEvent(List.of(id), status, expectedStatus, updatedOnShard));
+                }
+                return updatedOnShard;
+            });
+            if (updated > 0) {
+                return updated;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public long updateTasksStatus(List<Long> ids, TaskStatus status, TaskStatus expectedStatus) {
+        if (status == null) {
+            throw new InvalidStatusChangeExc("The new status is required");
+        }
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        // Every shard gets the whole list and updates the rows it holds, each in its own transaction.
+        long updated = 0;
+        for (int shard = 0; shard < shardRoutingService.getShardCount(); shard++) {
+            updated += shardRoutingService.callInTransactionOnShard(shard, false,
+                    () -> updateStatusByIds(distinctIds, status, expectedStatus));
+        }
+        if (updated > 0) {
+            eventPublisher.publishEvent(new TaskStatusChangedEvent(distinctIds, status, expectedStatus, updated));
+        }
+        return updated;
+    }
+
+    private long updateStatusByIds(List<Long> ids, TaskStatus status, TaskStatus expectedStatus) {
+        // Chunked so the IN list stays within what the driver binds comfortably.
+        long updated = 0;
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            updated += taskRepository.updateStatusByIdIn(chunk, status, expectedStatus);
+        }
+        return updated;
     }
 }
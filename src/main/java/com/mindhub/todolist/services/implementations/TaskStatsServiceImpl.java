@@ -0,0 +1,218 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.mindhub.todolist.dtos.TaskStatsDto;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TaskStatusChangedEvent;
+import com.mindhub.todolist.events.TasksArchivedEvent;
+import com.mindhub.todolist.events.TasksDeletedEvent;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.repositories.TaskRepository;
+import com.mindhub.todolist.services.ShardRoutingService;
+import com.mindhub.todolist.services.TaskStatsService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+@Profile("!reactive")
+@Timed("todolist.service")
+public class TaskStatsServiceImpl implements TaskStatsService {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    // One slot per status plus a last one for tasks saved without a status.
+    private static final int SLOTS = STATUSES.length + 1;
+
+    @Autowired
+    private final TaskRepository taskRepository;
+
+    @Autowired
+    private final ShardRoutingService shardRoutingService;
+
+    private final Counter reconcileDrift;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] totals = new long[SLOTS];
+
+    private Map<Long, long[]> byUsuario = new HashMap<>();
+
+    private boolean seeded;
+
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    public TaskStatsServiceImpl(TaskRepository taskRepository, ShardRoutingService shardRoutingService,
+                                MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.shardRoutingService = shardRoutingService;
+        this.reconcileDrift = Counter.builder("todolist.stats.reconcile.drift")
+                .description("Tasks the in-memory counts were off by when reconciled")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TaskStatsDto getStats() {
+        lock.readLock().lock();
+        try {
+            return toDto(null, totals);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public TaskStatsDto getStatsByUsuarioId(Long usuarioId) {
+        lock.readLock().lock();
+        try {
+            return toDto(usuarioId, byUsuario.getOrDefault(usuarioId, new long[SLOTS]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Seeds the counts at startup and then replaces them with one aggregate query per interval.
+    // A write racing the query may be counted twice or missed; the next run corrects it.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${todolist.stats.reconcile-interval}",
+            fixedDelayString = "${todolist.stats.reconcile-interval}")
+    public void reconcile() {
+        long[] newTotals = new long[SLOTS];
+        Map<Long, long[]> newByUsuario = new HashMap<>();
+        for (List<TaskRepository.StatusCount> counts :
+                shardRoutingService.callOnEachShard(taskRepository::countGroupByUsuarioIdAndTaskStatus)) {
+            for (TaskRepository.StatusCount count : counts) {
+                int slot = slot(count.getTaskStatus());
+                newTotals[slot] += count.getTotal();
+                if (count.getUsuarioId() != null) {
+                    newByUsuario.computeIfAbsent(count.getUsuarioId(), id -> new long[SLOTS])[slot] += count.getTotal();
+                }
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (seeded) {
+                long drift = 0;
+                for (int i = 0; i < SLOTS; i++) {
+                    drift += Math.abs(newTotals[i] - totals[i]);
+                }
+                reconcileDrift.increment(drift);
+            }
+            totals = newTotals;
+            byUsuario = newByUsuario;
+            seeded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getType() != TaskChangedEvent.Type.CREATED) {
+                add(event.getPreviousUsuarioId(), event.getPreviousStatus(), -1);
+            }
+            if (event.getType() != TaskChangedEvent.Type.DELETED) {
+                add(event.getUsuarioId(), event.getTask().getTasksStatus(), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Status PATCHes do not read the rows they change, so the owners are unknown: the totals are adjusted
+    // when the previous status is known, and the per-user counts are re-read shortly after.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskStatusChanged(TaskStatusChangedEvent event) {
+        if (event.getExpectedStatus() != null) {
+            lock.writeLock().lock();
+            try {
+                totals[slot(event.getExpectedStatus())] -= event.getCount();
+                totals[slot(event.getTaskStatus())] += event.getCount();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        stale.set(true);
+    }
+
+    // Coalesces every status PATCH of the last interval into one aggregate query.
+    @Scheduled(fixedDelayString = "${todolist.stats.stale-reconcile-delay}")
+    public void reconcileIfStale() {
+        if (stale.getAndSet(false)) {
+            reconcile();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksDeleted(TasksDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getTaskStatus() != null) {
+                // Every task with that status is gone, whoever it belonged to.
+                int slot = slot(event.getTaskStatus());
+                totals[slot] = Math.max(0, totals[slot] - event.getCount());
+                byUsuario.values().forEach(counts -> counts[slot] = 0);
+            }
+            for (Long usuarioId : event.getUsuarioIds()) {
+                long[] counts = byUsuario.remove(usuarioId);
+                if (counts != null) {
+                    for (int i = 0; i < SLOTS; i++) {
+                        totals[i] = Math.max(0, totals[i] - counts[i]);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Counts cover the task table only, so archived tasks leave the COMPLETED count until they are restored.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksArchived(TasksArchivedEvent event) {
+        int delta = event.getType() == TasksArchivedEvent.Type.ARCHIVED ? -1 : 1;
+        lock.writeLock().lock();
+        try {
+            add(event.getUsuarioId(), TaskStatus.COMPLETED, delta * event.getTasks().size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Long usuarioId, TaskStatus status, int delta) {
+        int slot = slot(status);
+        totals[slot] += delta;
+        if (usuarioId != null) {
+            byUsuario.computeIfAbsent(usuarioId, id -> new long[SLOTS])[slot] += delta;
+        }
+    }
+
+    private static int slot(TaskStatus status) {
+        return status != null ? status.ordinal() : STATUSES.length;
+    }
+
+    private static TaskStatsDto toDto(Long usuarioId, long[] counts) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        long total = counts[STATUSES.length];
+        for (TaskStatus status : STATUSES) {
+            byStatus.put(status, counts[status.ordinal()]);
+            total += counts[status.ordinal()];
+        }
+        return new TaskStatsDto(usuarioId, total, byStatus);
+    }
+}
@@ -0,0 +1,192 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.IngestStatusDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.exceptions.IngestQueueFullExc;
+import com.mindhub.todolist.exceptions.TaskNotFoundExc;
+import com.mindhub.todolist.services.TaskService;
+import com.mindhub.todolist.services.TaskWriteBehindService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Opt-in with the write-behind profile: POST /api/tasks is queued and written in batches by one background thread.
+@Service
+@Profile("write-behind")
+public class TaskWriteBehindServiceImpl implements TaskWriteBehindService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteBehindServiceImpl.class);
+
+    @Autowired
+    private final TaskService taskService;
+
+    private final BlockingQueue<PendingTask> queue;
+
+    private final int batchSize;
+
+    private final Duration maxDelay;
+
+    private final Duration offerTimeout;
+
+    private final Cache<String, IngestStatusDto> statuses;
+
+    private final DistributionSummary batchSizes;
+
+    private final Thread writer = new Thread(this::runWriter, "task-write-behind");
+
+    private volatile boolean accepting = true;
+
+    public TaskWriteBehindServiceImpl(TaskService taskService, MeterRegistry meterRegistry,
+                                      @Value("${todolist.write-behind.queue-capacity}") int queueCapacity,
+                                      @Value("${todolist.write-behind.batch-size}") int batchSize,
+                                      @Value("${todolist.write-behind.max-delay}") Duration maxDelay,
+                                      @Value("${todolist.write-behind.offer-timeout}") Duration offerTimeout,
+                                      @Value("${todolist.write-behind.status-ttl}") Duration statusTtl) {
+        this.taskService = taskService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.offerTimeout = offerTimeout;
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(queueCapacity * 10L)
+                .expireAfterWrite(statusTtl)
+                .build();
+        this.batchSizes = DistributionSummary.builder("todolist.write-behind.batch.size")
+                .description("Tasks written per transaction by the write-behind queue")
+                .register(meterRegistry);
+        Gauge.builder("todolist.write-behind.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    @Override
+    public IngestStatusDto enqueue(TaskInputDto taskInputDto) {
+        String trackingId = UUID.randomUUID().toString();
+        IngestStatusDto status = IngestStatusDto.queued(trackingId);
+        statuses.put(trackingId, status);
+        // Backpressure: wait briefly for room, then push back on the client instead of growing the queue.
+        boolean queued = false;
+        try {
+            queued = accepting && queue.offer(new PendingTask(trackingId, taskInputDto),
+                    offerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queued) {
+            statuses.invalidate(trackingId);
+            throw new IngestQueueFullExc("Task queue is full, retry later");
+        }
+        return status;
+    }
+
+    @Override
+    public IngestStatusDto getStatus(String trackingId) {
+        IngestStatusDto status = statuses.getIfPresent(trackingId);
+        if (status == null) {
+            throw new TaskNotFoundExc("Unknown or expired tracking id: " + trackingId);
+        }
+        return status;
+    }
+
+    // Runs after the web server has stopped taking requests: stop accepting, then write what is left.
+    @PreDestroy
+    public void flush() throws InterruptedException {
+        accepting = false;
+        // The writer notices within max-delay and exits once the queue is empty.
+        writer.join();
+    }
+
+    private void runWriter() {
+        List<PendingTask> batch = new ArrayList<>(batchSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                PendingTask first = queue.poll(maxDelay.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Give a burst up to max-delay to fill the batch before committing it.
+                long deadline = System.nanoTime() + maxDelay.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingTask next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                // Every further poll would throw, so write what was accepted without waiting and exit.
+                accepting = false;
+                do {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    write(batch);
+                    batch.clear();
+                } while (!queue.isEmpty());
+                Thread.currentThread().interrupt();
+                return;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingTask> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSizes.record(batch.size());
+        try {
+            // One transaction and JDBC-batched inserts for the whole batch.
+            List<BulkResultDto> results = taskService.createTasks(batch.stream().map(pendingTask -> pendingTask.taskInputDto).toList());
+            for (BulkResultDto result : results) {
+                String trackingId = batch.get(result.getIndex()).trackingId;
+                statuses.put(trackingId, IngestStatusDto.of(trackingId, result));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Write-behind batch of {} tasks failed", batch.size(), ex);
+            for (PendingTask pendingTask : batch) {
+                statuses.put(pendingTask.trackingId, new IngestStatusDto(pendingTask.trackingId,
+                        IngestStatusDto.State.FAILED, null, ex.getMessage()));
+            }
+        }
+    }
+
+    private static final class PendingTask {
+
+        private final String trackingId;
+
+        private final TaskInputDto taskInputDto;
+
+        private PendingTask(String trackingId, TaskInputDto taskInputDto) {
+            this.trackingId = trackingId;
+            this.taskInputDto = taskInputDto;
+        }
+    }
+}
@@ -1,47 +1,142 @@
 package com.mindhub.todolist.services.implementations;
 
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.CursorPageDto;
 import com.mindhub.todolist.dtos.NewUsuarioDto;
 import com.mindhub.todolist.dtos.UsuarioDto;
+import com.mindhub.todolist.events.TasksDeletedEvent;
+import com.mindhub.todolist.events.UsuariosSavedEvent;
 import com.mindhub.todolist.exceptions.UserAlreadyExistsExc;
 import com.mindhub.todolist.exceptions.UserNotFoundExc;
+import com.mindhub.todolist.exceptions.VersionConflictExc;
 import com.mindhub.todolist.models.Usuario;
+import com.mindhub.todolist.repositories.TaskArchiveSegmentRepository;
+import com.mindhub.todolist.repositories.TaskRepository;
 import com.mindhub.todolist.repositories.UsuarioRepository;
+import com.mindhub.todolist.repositories.VersionSummary;
+import com.mindhub.todolist.services.ExistenceCheckService;
+import com.mindhub.todolist.services.ShardRoutingService;
 import com.mindhub.todolist.services.UsuarioService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("todolist.service")
 public class UsuarioServiceImpl implements UsuarioService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     @Autowired
     private final UsuarioRepository usuarioRepository;
 
-    public UsuarioServiceImpl(UsuarioRepository usuarioRepository) {
+    @Autowired
+    private final TaskRepository taskRepository;
+
+    @Autowired
+    private final TaskArchiveSegmentRepository taskArchiveSegmentRepository;
+
+    @Autowired
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private final ExistenceCheckService existenceCheckService;
+
+    @Autowired
+    private final ShardRoutingService shardRoutingService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UsuarioServiceImpl(UsuarioRepository usuarioRepository, TaskRepository taskRepository,
+                              TaskArchiveSegmentRepository taskArchiveSegmentRepository,
+                              ApplicationEventPublisher eventPublisher, ExistenceCheckService existenceCheckService,
+                              ShardRoutingService shardRoutingService) {
         this.usuarioRepository = usuarioRepository;
+        this.taskRepository = taskRepository;
+        this.taskArchiveSegmentRepository = taskArchiveSegmentRepository;
+        this.eventPublisher = eventPublisher;
+        this.existenceCheckService = existenceCheckService;
+        this.shardRoutingService = shardRoutingService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UsuarioDto> getAllUsuarios() {
-        return usuarioRepository.findAll()
+        return mergeById(shardRoutingService.callOnEachShard(() -> usuarioRepository.findAll()
                 .stream()
                 .map(UsuarioDto::new)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList())));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<UsuarioDto> getUsuariosPage(String after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Long afterId = CursorPageDto.decodeCursor(after);
+
+        List<UsuarioDto> usuarios = mergeById(shardRoutingService.callOnEachShard(
+                () -> usuarioRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1))
+                        .stream()
+                        .map(UsuarioDto::new)
+                        .collect(Collectors.toList())));
+        boolean hasNext = usuarios.size() > pageSize;
+        List<UsuarioDto> items = hasNext ? usuarios.subList(0, pageSize) : usuarios;
+
+        String nextCursor = hasNext ? CursorPageDto.encodeCursor(items.get(items.size() - 1).getId()) : null;
+        return new CursorPageDto<>(items, nextCursor);
+    }
+
+    @Override
+    @Cacheable("usuariosById")
+    @Transactional(readOnly = true)
     public UsuarioDto getUsuarioById(Long id) {
-    Usuario usuario = usuarioRepository.findById(id)
+    Usuario usuario = shardRoutingService.callOnShard(shardRoutingService.getShardOfUsuario(id),
+                    () -> usuarioRepository.findById(id))
             .orElseThrow(() -> new UserNotFoundExc("User not found by ID: " + id));
     return new UsuarioDto(usuario);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public VersionSummary getUsuariosVersionSummary() {
+        return VersionSummary.sum(shardRoutingService.callOnEachShard(usuarioRepository::summarizeVersions));
+    }
+
+    private static List<UsuarioDto> mergeById(List<List<UsuarioDto>> perShard) {
+        if (perShard.size() == 1) {
+            return perShard.get(0);
+        }
+        return perShard.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(UsuarioDto::getId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @CacheEvict(cacheNames = "usernameExists", key = "#newUsuarioDto.username")
     public UsuarioDto createUsuario(NewUsuarioDto newUsuarioDto) {
-        if (usuarioRepository.existsByUsername(newUsuarioDto.getUsername())) {
+        if (existenceCheckService.existsByUsername(newUsuarioDto.getUsername())) {
             throw new UserAlreadyExistsExc("The username already exists: " + newUsuarioDto.getUsername());
         }
 
@@ -49,34 +144,131 @@ public class UsuarioServiceImpl implements UsuarioService {
         usuario.setUsername(newUsuarioDto.getUsername());
         usuario.setEmail(newUsuarioDto.getEmail());
 
-        Usuario savedUsuario = usuarioRepository.save(usuario);
+        // New users are spread round-robin; their tasks follow them to the same shard.
+        Usuario savedUsuario = shardRoutingService.callOnShard(shardRoutingService.nextShardForNewUsuario(),
+                () -> usuarioRepository.save(usuario));
+        eventPublisher.publishEvent(new UsuariosSavedEvent(List.of(savedUsuario.getUsername())));
         return new UsuarioDto(savedUsuario);
     }
 
     @Override
-    public void deleteUsuario(Long id) {
-        if (!usuarioRepository.existsById(id)) {
-            throw new UserNotFoundExc("Usuario no encontrado con ID: " + id);
+    @CacheEvict(cacheNames = "usernameExists", allEntries = true)
+    public List<BulkResultDto> createUsuarios(List<NewUsuarioDto> newUsuarioDtos) {
+        // One query finds every username that is already taken instead of one exists check per row.
+        Set<String> takenUsernames = new HashSet<>(existenceCheckService.findExistingUsernames(
+                newUsuarioDtos.stream()
+                        .map(NewUsuarioDto::getUsername)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())));
+
+        List<BulkResultDto> results = new ArrayList<>(newUsuarioDtos.size());
+        Map<Integer, List<Integer>> indexesByShard = new TreeMap<>();
+        for (int i = 0; i < newUsuarioDtos.size(); i++) {
+            NewUsuarioDto newUsuarioDto = newUsuarioDtos.get(i);
+            if (!takenUsernames.add(newUsuarioDto.getUsername())) {
+                results.add(BulkResultDto.failed(i, "The username already exists: " + newUsuarioDto.getUsername()));
+                continue;
+            }
+            indexesByShard.computeIfAbsent(shardRoutingService.nextShardForNewUsuario(), key -> new ArrayList<>()).add(i);
+        }
+
+        // One transaction per shard.
+        indexesByShard.forEach((shard, indexes) -> shardRoutingService.runInTransactionOnShard(shard, false,
+                () -> createUsuariosOnShard(newUsuarioDtos, indexes, results)));
+
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return results;
+    }
+
+    private void createUsuariosOnShard(List<NewUsuarioDto> newUsuarioDtos, List<Integer> indexes,
+                                       List<BulkResultDto> results) {
+        List<Usuario> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(BULK_CHUNK_SIZE);
+
+        for (int i : indexes) {
+            NewUsuarioDto newUsuarioDto = newUsuarioDtos.get(i);
+            Usuario usuario = new Usuario();
+            usuario.setUsername(newUsuarioDto.getUsername());
+            usuario.setEmail(newUsuarioDto.getEmail());
+            chunk.add(usuario);
+            chunkIndexes.add(i);
+
+            if (chunk.size() == BULK_CHUNK_SIZE) {
+                flushChunk(chunk, chunkIndexes, results);
+            }
         }
-        usuarioRepository.deleteById(id);
+        flushChunk(chunk, chunkIndexes, results);
+    }
+
+    private void flushChunk(List<Usuario> chunk, List<Integer> chunkIndexes, List<BulkResultDto> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        usuarioRepository.saveAll(chunk);
+        entityManager.flush();
+        eventPublisher.publishEvent(new UsuariosSavedEvent(chunk.stream().map(Usuario::getUsername).toList()));
+        entityManager.clear();
+        for (int i = 0; i < chunk.size(); i++) {
+            results.add(BulkResultDto.created(chunkIndexes.get(i), chunk.get(i).getId()));
+        }
+        chunk.clear();
+        chunkIndexes.clear();
     }
 
     @Override
-    public UsuarioDto updateUsuario(Long id, UsuarioDto usuarioDto) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "usuariosById", key = "#id"),
+            @CacheEvict(cacheNames = {"usuariosByEmail", "usernameExists"}, allEntries = true)
+    })
+    public void deleteUsuario(Long id) {
+        // The user and its tasks share a shard, so one transaction there covers both.
+        shardRoutingService.callForUsuario(id, shard -> shardRoutingService.callInTransactionOnShard(shard, false, () -> {
+            if (!usuarioRepository.existsById(id)) {
+                throw new UserNotFoundExc("Usuario no encontrado con ID: " + id);
+            }
+            int deletedTasks = taskRepository.deleteByUsuarioId(id);
+            taskArchiveSegmentRepository.deleteByUsuarioId(id);
+            usuarioRepository.deleteById(id);
+            eventPublisher.publishEvent(TasksDeletedEvent.byUsuarios(List.of(id), deletedTasks));
+            return null;
+        }));
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "usuariosById", key = "#id"),
+            @CacheEvict(cacheNames = {"usuariosByEmail", "usernameExists"}, allEntries = true)
+    })
+    public UsuarioDto updateUsuario(Long id, UsuarioDto usuarioDto, Long expectedVersion) {
+        return shardRoutingService.callForUsuario(id,
+                shard -> shardRoutingService.callOnShard(shard, () -> updateUsuarioOnShard(id, usuarioDto, expectedVersion)));
+    }
+
+    private UsuarioDto updateUsuarioOnShard(Long id, UsuarioDto usuarioDto, Long expectedVersion) {
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundExc("User not found by ID: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(usuario.getVersion())) {
+            throw new VersionConflictExc("User " + id + " has changed, current version is " + usuario.getVersion());
+        }
 
         usuario.setUsername(usuarioDto.getUsername());
         usuario.setEmail(usuarioDto.getEmail());
 
         Usuario updatedUsuario = usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(new UsuariosSavedEvent(List.of(updatedUsuario.getUsername())));
 
         return new UsuarioDto(updatedUsuario);
     }
 
     @Override
+    @Cacheable("usuariosByEmail")
+    @Transactional(readOnly = true)
     public UsuarioDto getUsuarioByEmail(String email) {
-        Usuario usuario = usuarioRepository.findByEmail(email);
+        Usuario usuario = shardRoutingService.callOnEachShard(() -> usuarioRepository.findByEmail(email))
+                .stream()
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
         if (usuario == null) {
             throw new UserNotFoundExc("User not found by email: " + email);
         }
@@ -84,24 +276,67 @@ public class UsuarioServiceImpl implements UsuarioService {
     }
 
     @Override
+    @Cacheable("usernameExists")
     public boolean getExistByUsername(String username) {
-        return usuarioRepository.existsByUsername(username);
+        return existenceCheckService.existsByUsername(username);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Long getCountByEmail(String email) {
-        return usuarioRepository.countByEmail(email);
+        return shardRoutingService.callOnEachShard(() -> usuarioRepository.countByEmail(email))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
     }
 
     @Override
-    @Transactional
-    public void deleteByEmail(String email) {
-        Usuario usuario = usuarioRepository.findByEmail(email);
-        if (usuario == null) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "usuariosByEmail", key = "#email"),
+            @CacheEvict(cacheNames = {"usuariosById", "usernameExists"}, allEntries = true)
+    })
+    public long deleteByEmail(String email) {
+        long deleted = 0;
+        long deletedTasks = 0;
+        List<Long> usuarioIds = new ArrayList<>();
+        for (int shard = 0; shard < shardRoutingService.getShardCount(); shard++) {
+            EmailDeletion deletion = shardRoutingService.callInTransactionOnShard(shard, false, () -> deleteByEmailOnShard(email));
+            deleted += deletion.usuarios;
+            deletedTasks += deletion.tasks;
+            usuarioIds.addAll(deletion.usuarioIds);
+        }
+        if (deleted == 0) {
             throw new UserNotFoundExc("User not found by email: " + email);
         }
-        usuarioRepository.deleteByEmail(email);
+        // One event with the tasks of every shard, once all of them committed, as deleteByTaskStatus does.
+        eventPublisher.publishEvent(TasksDeletedEvent.byUsuarios(usuarioIds, deletedTasks));
+        return deleted;
+    }
+
+    private EmailDeletion deleteByEmailOnShard(String email) {
+        List<Long> usuarioIds = usuarioRepository.findIdsByEmail(email);
+        if (usuarioIds.isEmpty()) {
+            return new EmailDeletion(List.of(), 0, 0);
+        }
+        // Delete the tasks first with one statement instead of letting orphanRemoval remove them row by row.
+        int deletedTasks = taskRepository.deleteByUsuarioEmail(email);
+        taskArchiveSegmentRepository.deleteByUsuarioIdIn(usuarioIds);
+        int deleted = usuarioRepository.deleteByEmail(email);
+        return new EmailDeletion(usuarioIds, deleted, deletedTasks);
     }
 
+    private static final class EmailDeletion {
+
+        private final List<Long> usuarioIds;
+
+        private final int usuarios;
 
+        private final int tasks;
+
+        private EmailDeletion(List<Long> usuarioIds, int usuarios, int tasks) {
+            this.usuarioIds = usuarioIds;
+            this.usuarios = usuarios;
+            this.tasks = tasks;
+        }
+    }
 }
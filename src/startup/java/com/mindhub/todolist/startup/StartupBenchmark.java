@@ -0,0 +1,182 @@
+package com.mindhub.todolist.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the plain jar and the fast-startup build (AOT, CDS archive, lazy beans) as separate JVMs, alternating
+ * between them, and measures the time from launching the JVM until GET /api/tasks first answers, plus the
+ * resident set size right after that request. Prints the median and best run per variant and writes report.json.
+ */
+public final class StartupBenchmark {
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private final Map<String, String> config = new LinkedHashMap<>();
+
+    private StartupBenchmark(String[] args) {
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            config.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new StartupBenchmark(args).run();
+    }
+
+    private void run() throws Exception {
+        Path jar = Path.of(required("jar"));
+        Path optimizedDir = Path.of(required("optimizedDir"));
+        Path outputDir = Path.of(config.getOrDefault("outputDir", "target/startup"));
+        int runs = Integer.parseInt(config.getOrDefault("runs", "5"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(config.getOrDefault("timeoutSeconds", "180")));
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Files.createDirectories(outputDir);
+
+        Map<String, List<String>> commands = new LinkedHashMap<>();
+        commands.put("default", List.of(java, "-jar", jar.toString()));
+        commands.put("fast-startup", List.of(java,
+                "-XX:SharedArchiveFile=" + optimizedDir.resolve("application.jsa"),
+                "-Dspring.aot.enabled=true",
+                "-jar", optimizedDir.resolve(jar.getFileName()).toString(),
+                "--spring.profiles.active=fast-startup"));
+
+        Map<String, List<Sample>> samples = new LinkedHashMap<>();
+        commands.keySet().forEach(variant -> samples.put(variant, new ArrayList<>()));
+        // Alternating the variants spreads any drift of the machine over both.
+        for (int i = 0; i < runs; i++) {
+            for (Map.Entry<String, List<String>> command : commands.entrySet()) {
+                Path log = outputDir.resolve(command.getKey() + "-" + i + ".log");
+                Sample sample = measure(command.getValue(), log, timeout);
+                System.out.printf("%-13s run %d: first request after %6d ms, RSS %7.1f MB%n",
+                        command.getKey(), i + 1, sample.millisToFirstRequest, sample.rssBytes / 1048576.0);
+                samples.get(command.getKey()).add(sample);
+            }
+        }
+
+        Map<String, Map<String, Object>> report = new LinkedHashMap<>();
+        System.out.printf("%n%-13s %18s %16s %16s%n", "variant", "median first req", "best first req", "median RSS MB");
+        for (Map.Entry<String, List<Sample>> entry : samples.entrySet()) {
+            List<Long> millis = new ArrayList<>();
+            List<Long> rss = new ArrayList<>();
+            for (Sample sample : entry.getValue()) {
+                millis.add(sample.millisToFirstRequest);
+                rss.add(sample.rssBytes);
+            }
+            Collections.sort(millis);
+            Collections.sort(rss);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("medianMillisToFirstRequest", millis.get(millis.size() / 2));
+            summary.put("bestMillisToFirstRequest", millis.get(0));
+            summary.put("medianRssBytes", rss.get(rss.size() / 2));
+            summary.put("millisToFirstRequest", millis);
+            report.put(entry.getKey(), summary);
+            System.out.printf("%-13s %15d ms %13d ms %16.1f%n", entry.getKey(), millis.get(millis.size() / 2),
+                    millis.get(0), rss.get(rss.size() / 2) / 1048576.0);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(outputDir.resolve("report.json").toFile(), report);
+    }
+
+    private Sample measure(List<String> command, Path log, Duration timeout) throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        HttpRequest firstRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(arguments)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = started + timeout.toNanos();
+            while (true) {
+                if (!process.isAlive() || System.nanoTime() > deadline) {
+                    throw new IllegalStateException("The application did not answer, see " + log);
+                }
+                try {
+                    if (CLIENT.send(firstRequest, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (ConnectException ex) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            return new Sample(millis, residentSetSize(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Linux only; -1 elsewhere.
+    private static long residentSetSize(long pid) throws IOException {
+        Path status = Path.of("/proc/" + pid + "/status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+            }
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private String required(String key) {
+        String value = config.get(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + key + "=...");
+        }
+        return value;
+    }
+
+    private static final class Sample {
+
+        private final long millisToFirstRequest;
+
+        private final long rssBytes;
+
+        private Sample(long millisToFirstRequest, long rssBytes) {
+            this.millisToFirstRequest = millisToFirstRequest;
+            this.rssBytes = rssBytes;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.TodolistApplication;
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.RecoveryDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.services.DurabilityService;
+import com.mindhub.todolist.services.TaskService;
+import com.mindhub.todolist.services.UsuarioService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WalRecoveryTests {
+
+    @TempDir
+    private Path dir;
+
+    private ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(TodolistApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("durable")
+                .run("--todolist.wal.dir=" + dir, "--todolist.wal.segment-size=1MB",
+                        "--spring.datasource.url=jdbc:h2:mem:" + database);
+    }
+
+    private static long count(JdbcTemplate jdbcTemplate, Long taskId) {
+        return jdbcTemplate.queryForObject("select count(*) from task where id = ?", Long.class, taskId);
+    }
+
+    @Test
+    void restartRecoversCommittedChangesAndHandsOutNewIds() {
+        ConfigurableApplicationContext crashed = start("wal-recovery-tests-0");
+        ConfigurableApplicationContext recovered = null;
+        try {
+            UsuarioService usuarioService = crashed.getBean(UsuarioService.class);
+            TaskService taskService = crashed.getBean(TaskService.class);
+            Long usuarioId = usuarioService.createUsuario(new NewUsuarioDto("wal", "wal@mail.com")).getId();
+            TaskDto deleted = taskService.createTask(new TaskInputDto("deleted", "after the snapshot", TaskStatus.PENDING, usuarioId));
+            TaskDto updated = taskService.createTask(new TaskInputDto("updated", "after the snapshot", TaskStatus.PENDING, usuarioId));
+            crashed.getBean(DurabilityService.class).snapshot();
+
+            TaskDto created = taskService.createTask(new TaskInputDto("created", "after the snapshot", TaskStatus.PENDING, usuarioId));
+            taskService.updateTask(updated.getId(), new TaskInputDto("updated", "in the log", TaskStatus.COMPLETED, usuarioId), null);
+            taskService.deleteTask(deleted.getId());
+            TaskDto rolledBack = new TransactionTemplate(crashed.getBean(PlatformTransactionManager.class)).execute(status -> {
+                status.setRollbackOnly();
+                return taskService.createTask(new TaskInputDto("rolled back", "never committed", TaskStatus.PENDING, usuarioId));
+            });
+
+            // The crashed context is left open, as a killed process leaves its log; the new one starts on an empty database.
+            recovered = start("wal-recovery-tests-1");
+            JdbcTemplate jdbcTemplate = recovered.getBean(JdbcTemplate.class);
+            RecoveryDto recovery = recovered.getBean(WalRecovery.class).getRecovery();
+            assertThat(recovery.getSnapshotLsn()).isNotNull();
+            assertThat(recovery.getLogRows()).isPositive();
+
+            assertThat(count(jdbcTemplate, deleted.getId())).isZero();
+            assertThat(count(jdbcTemplate, rolledBack.getId())).isZero();
+            assertThat(count(jdbcTemplate, created.getId())).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject("select description from task where id = ?", String.class, updated.getId()))
+                    .isEqualTo("in the log");
+
+            TaskDto next = recovered.getBean(TaskService.class)
+                    .createTask(new TaskInputDto("next", "after the restart", TaskStatus.PENDING, usuarioId));
+            assertThat(next.getId()).isGreaterThan(rolledBack.getId());
+        } finally {
+            if (recovered != null) {
+                recovered.close();
+            }
+            crashed.close();
+        }
+    }
+
+    @Test
+    void transactionWithACorruptCommitIsNotReplayed() throws Exception {
+        byte[] header = WalRecord.encodeHeader("TASK", new String[]{"ID", "TITLE"});
+        long corruptCommit;
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(dir, 4096, true, new SimpleMeterRegistry())) {
+            SimpleTransactionStatus committed = new SimpleTransactionStatus();
+            writeAheadLog.begin(committed);
+            writeAheadLog.appendRow(WalRecord.UPSERT, header, new Object[]{1L, "committed"});
+            writeAheadLog.commit(committed);
+
+            SimpleTransactionStatus torn = new SimpleTransactionStatus();
+            writeAheadLog.begin(torn);
+            writeAheadLog.appendRow(WalRecord.UPSERT, header, new Object[]{20L, "torn"});
+            corruptCommit = writeAheadLog.getAppended();
+            writeAheadLog.commit(torn);
+        }
+        // Flips a byte of the commit marker, behind its length and checksum.
+        try (FileChannel channel = FileChannel.open(dir.resolve(String.format("wal-%020d.log", 0)),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer marker = ByteBuffer.allocate(1);
+            channel.read(marker, corruptCommit + 8);
+            marker.put(0, (byte) ~marker.get(0));
+            channel.write(marker.flip(), corruptCommit + 8);
+        }
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:wal-recovery-tests-raw;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table task (id bigint primary key, title varchar(255))");
+        jdbcTemplate.execute("create sequence task_seq start with 1 increment by 50");
+        jdbcTemplate.execute("create table task_archive_segment (id bigint primary key, last_task_id bigint)");
+        jdbcTemplate.update("insert into task_archive_segment values (1, 7)");
+
+        RecoveryDto recovery = new WalRecovery(dataSource, dir, List.of("task")).recover();
+
+        assertThat(recovery.getTransactions()).isEqualTo(1);
+        assertThat(recovery.getLogRows()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("select id from task", Long.class)).containsExactly(1L);
+        // Above the id the torn transaction took, not just above the rows that were recovered.
+        assertThat(jdbcTemplate.queryForObject("select next value for task_seq", Long.class)).isEqualTo(70);
+    }
+}
@@ -0,0 +1,120 @@
+package com.mindhub.todolist.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.services.TaskService;
+import com.mindhub.todolist.services.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:etag-tests")
+@AutoConfigureMockMvc
+class ETagTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    private Long usuarioId;
+
+    @BeforeEach
+    void createUsuario() {
+        String name = "etag-" + System.nanoTime();
+        usuarioId = usuarioService.createUsuario(new NewUsuarioDto(name, name + "@mail.com")).getId();
+    }
+
+    private String eTagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private String taskBody(String description) throws Exception {
+        return objectMapper.writeValueAsString(new TaskInputDto("etag", description, TaskStatus.PENDING, usuarioId));
+    }
+
+    @Test
+    void unchangedTaskIsAnsweredWithNotModified() throws Exception {
+        TaskDto task = taskService.createTask(new TaskInputDto("etag", "cached", TaskStatus.PENDING, usuarioId));
+        String eTag = eTagOf("/api/tasks/" + task.getId());
+
+        mockMvc.perform(get("/api/tasks/" + task.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        taskService.updateTask(task.getId(), new TaskInputDto("etag", "changed", TaskStatus.PENDING, usuarioId), null);
+        mockMvc.perform(get("/api/tasks/" + task.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void taskListETagChangesWithAnyTask() throws Exception {
+        String eTag = eTagOf("/api/tasks");
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        taskService.createTask(new TaskInputDto("etag", "new in the list", TaskStatus.PENDING, usuarioId));
+
+        assertThat(eTagOf("/api/tasks")).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void updateWithAStaleIfMatchIsRefused() throws Exception {
+        TaskDto task = taskService.createTask(new TaskInputDto("etag", "original", TaskStatus.PENDING, usuarioId));
+        String eTag = eTagOf("/api/tasks/" + task.getId());
+
+        String updatedETag = mockMvc.perform(put("/api/tasks/" + task.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(taskBody("first writer")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(updatedETag).isNotEqualTo(eTag);
+
+        mockMvc.perform(put("/api/tasks/" + task.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(taskBody("second writer")))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(taskService.getTaskById(task.getId()).getDescription()).isEqualTo("first writer");
+    }
+
+    @Test
+    void userETagsWorkTheSameWay() throws Exception {
+        String eTag = eTagOf("/api/user/" + usuarioId);
+        mockMvc.perform(get("/api/user/" + usuarioId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        String name = "etag-renamed-" + System.nanoTime();
+        String body = objectMapper.writeValueAsString(Map.of("username", name, "email", name + "@mail.com"));
+        mockMvc.perform(put("/api/user/" + usuarioId).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/user/" + usuarioId).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
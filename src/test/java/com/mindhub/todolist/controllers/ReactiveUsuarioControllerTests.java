@@ -0,0 +1,83 @@
+package com.mindhub.todolist.controllers;
+
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.UsuarioDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-usuario-tests",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-usuario-tests"
+})
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactiveUsuarioControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private UsuarioDto createUsuario(String name) {
+        return webTestClient.post().uri("/api/user")
+                .bodyValue(new NewUsuarioDto(name, name + "@mail.com"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UsuarioDto.class)
+                .returnResult().getResponseBody();
+    }
+
+    @Test
+    void userIsServedWithETagsAndConditionalRequests() {
+        UsuarioDto usuario = createUsuario("reactive-" + System.nanoTime());
+
+        String eTag = webTestClient.get().uri("/api/user/" + usuario.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(UsuarioDto.class).getResponseHeaders().getETag();
+        webTestClient.get().uri("/api/user/" + usuario.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        String name = "reactive-renamed-" + System.nanoTime();
+        Map<String, String> body = Map.of("username", name, "email", name + "@mail.com");
+        webTestClient.put().uri("/api/user/" + usuario.getId())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.put().uri("/api/user/" + usuario.getId())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void deletedUserIsNotFound() {
+        String name = "reactive-deleted-" + System.nanoTime();
+        UsuarioDto usuario = createUsuario(name);
+
+        webTestClient.delete().uri("/api/user/" + usuario.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/api/user/" + usuario.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+        Boolean exists = webTestClient.get().uri("/api/user/exists/" + name)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Boolean.class)
+                .returnResult().getResponseBody();
+        assertThat(exists).isFalse();
+    }
+}
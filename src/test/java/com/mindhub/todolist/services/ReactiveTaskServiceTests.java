@@ -0,0 +1,111 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TasksDeletedEvent;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-task-tests",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-task-tests"
+})
+@ActiveProfiles("reactive")
+class ReactiveTaskServiceTests {
+
+    // The reactive writes publish from R2DBC threads, which the thread-bound ApplicationEvents do not see.
+    @TestConfiguration
+    static class EventRecorderConfig {
+
+        @Bean
+        EventRecorder eventRecorder() {
+            return new EventRecorder();
+        }
+    }
+
+    static class EventRecorder {
+
+        private final List<Object> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onTaskChanged(TaskChangedEvent event) {
+            events.add(event);
+        }
+
+        @EventListener
+        public void onTasksDeleted(TasksDeletedEvent event) {
+            events.add(event);
+        }
+    }
+
+    @Autowired
+    private ReactiveTaskService reactiveTaskService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private EventRecorder eventRecorder;
+
+    private Long usuarioId;
+
+    @BeforeEach
+    void createUsuario() {
+        String name = "reactive-task-" + System.nanoTime();
+        usuarioId = usuarioService.createUsuario(new NewUsuarioDto(name, name + "@mail.com")).getId();
+        eventRecorder.events.clear();
+    }
+
+    private <T> List<T> events(Class<T> type) {
+        return eventRecorder.events.stream().filter(type::isInstance).map(type::cast).toList();
+    }
+
+    @Test
+    void singleTaskWritesPublishTaskChanged() {
+        TaskDto created = reactiveTaskService.createTask(
+                new TaskInputDto("reactive", "created", TaskStatus.PENDING, usuarioId)).block();
+        reactiveTaskService.updateTask(created.getId(),
+                new TaskInputDto("reactive", "updated", TaskStatus.COMPLETED, usuarioId)).block();
+        reactiveTaskService.deleteTask(created.getId()).block();
+
+        List<TaskChangedEvent> events = events(TaskChangedEvent.class);
+        assertThat(events).extracting(TaskChangedEvent::getType).containsExactly(
+                TaskChangedEvent.Type.CREATED, TaskChangedEvent.Type.UPDATED, TaskChangedEvent.Type.DELETED);
+        assertThat(events).extracting(TaskChangedEvent::getTaskId).containsOnly(created.getId());
+        assertThat(events.get(1).getPreviousStatus()).isEqualTo(TaskStatus.PENDING);
+        assertThat(events.get(2).getPreviousStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(events.get(2).getPreviousUsuarioId()).isEqualTo(usuarioId);
+    }
+
+    @Test
+    void bulkCreateAndDeleteByStatusPublishTheirEvents() {
+        reactiveTaskService.createTasks(List.of(
+                new TaskInputDto("reactive", "bulk 1", TaskStatus.IN_PROGRESS, usuarioId),
+                new TaskInputDto("reactive", "bulk 2", TaskStatus.IN_PROGRESS, usuarioId),
+                new TaskInputDto("reactive", "missing user", TaskStatus.IN_PROGRESS, -1L))).collectList().block();
+
+        assertThat(events(TaskChangedEvent.class)).hasSize(2)
+                .allSatisfy(event -> assertThat(event.getUsuarioId()).isEqualTo(usuarioId));
+
+        Long deleted = reactiveTaskService.deleteByTaskStatus(TaskStatus.IN_PROGRESS).block();
+
+        assertThat(events(TasksDeletedEvent.class)).singleElement().satisfies(event -> {
+            assertThat(event.getTaskStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+            assertThat(event.getCount()).isEqualTo(deleted);
+        });
+    }
+}
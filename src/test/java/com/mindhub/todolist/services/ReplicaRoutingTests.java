@@ -0,0 +1,80 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The scheduled sync is pushed out of the way so the replicas only catch up when a test calls sync().
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-routing-tests",
+        "todolist.replicas.urls=jdbc:h2:file:./target/replica-routing-tests/replica-0",
+        "todolist.replicas.sync-interval=PT1H",
+        "todolist.replicas.max-lag=PT1H"
+})
+@ActiveProfiles("replicas")
+class ReplicaRoutingTests {
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ReplicaSyncService replicaSyncService;
+
+    @BeforeEach
+    void startRequest() {
+        replicaSyncService.sync();
+        newRequest();
+    }
+
+    @AfterEach
+    void endRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void newRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @Test
+    void readsAfterAWriteInTheSameRequestSeeIt() {
+        usuarioService.createUsuario(new NewUsuarioDto("replica-own-write", "replica-own-write@mail.com"));
+
+        assertThat(usuarioService.getCountByEmail("replica-own-write@mail.com")).isEqualTo(1);
+    }
+
+    @Test
+    void otherRequestsReadTheReplicaUntilItIsSynced() {
+        usuarioService.createUsuario(new NewUsuarioDto("replica-lagging", "replica-lagging@mail.com"));
+
+        newRequest();
+        assertThat(usuarioService.getCountByEmail("replica-lagging@mail.com")).isZero();
+
+        replicaSyncService.sync();
+        assertThat(usuarioService.getCountByEmail("replica-lagging@mail.com")).isEqualTo(1);
+    }
+
+    @Test
+    void writesInALaterRequestFindAUserTheReplicaHasNotSeen() {
+        Long usuarioId = usuarioService.createUsuario(new NewUsuarioDto("replica-task-owner", "replica-task-owner@mail.com")).getId();
+
+        newRequest();
+        Long taskId = taskService.createTask(new TaskInputDto("replica", "owner only on the primary", TaskStatus.PENDING, usuarioId)).getId();
+
+        newRequest();
+        taskService.updateTask(taskId, new TaskInputDto("replica", "still only on the primary", TaskStatus.IN_PROGRESS, usuarioId), null);
+    }
+}
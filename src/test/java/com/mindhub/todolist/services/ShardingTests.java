@@ -0,0 +1,229 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.config.ShardRoutingDataSource;
+import com.mindhub.todolist.dtos.BulkResultDto;
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.ShardMoveDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.events.TasksDeletedEvent;
+import com.mindhub.todolist.exceptions.CrossShardMoveExc;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharding-tests",
+        "todolist.sharding.urls=jdbc:h2:mem:sharding-tests-0,jdbc:h2:mem:sharding-tests-1"
+})
+@ActiveProfiles("sharded")
+@RecordApplicationEvents
+class ShardingTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private ShardRoutingService shardRoutingService;
+
+    @Autowired
+    private ShardRebalanceService shardRebalanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private Long createUsuario(String name) {
+        String username = name + "-" + System.nanoTime();
+        return usuarioService.createUsuario(new NewUsuarioDto(username, username + "@mail.com")).getId();
+    }
+
+    // New users go round-robin, so one of the next two lands on the shard.
+    private Long createUsuarioOnShard(String name, int shard) {
+        Long usuarioId = createUsuario(name);
+        return shardRoutingService.getShardOfUsuario(usuarioId) == shard ? usuarioId : createUsuario(name);
+    }
+
+    private List<Long> createTasks(Long usuarioId, int count, TaskStatus taskStatus) {
+        List<TaskInputDto> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new TaskInputDto("sharded " + i, "task of user " + usuarioId, taskStatus, usuarioId));
+        }
+        return taskService.createTasks(tasks).stream().map(BulkResultDto::getId).toList();
+    }
+
+    private long countOnShard(int shard, String sql, Long id) {
+        return shardRoutingService.callOnShard(shard, () -> jdbcTemplate.queryForObject(sql, Long.class, id));
+    }
+
+    @Test
+    void taskIsCreatedOnItsUsersShard() {
+        Long usuarioId = createUsuario("shard-owner");
+        int shard = shardRoutingService.getShardOfUsuario(usuarioId);
+
+        TaskDto task = taskService.createTask(new TaskInputDto("sharded", "on the user's shard", TaskStatus.PENDING, usuarioId));
+
+        assertThat(countOnShard(shard, "select count(*) from task where id = ?", task.getId())).isEqualTo(1);
+        assertThat(countOnShard(1 - shard, "select count(*) from task where id = ?", task.getId())).isZero();
+    }
+
+    private long taskSequenceValue(int shard) {
+        return shardRoutingService.callOnShard(shard, () -> jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = 'TASK_SEQ'", Long.class));
+    }
+
+    // Ids come in blocks, one sequence call per block of 50, taken from the shard being written to.
+    @Test
+    void taskIdsComeFromBlocksOfTheirShardsRange() {
+        Long first = createUsuarioOnShard("ids", 0);
+        Long second = createUsuarioOnShard("ids", 1);
+        long before = taskSequenceValue(1);
+
+        List<Long> firstIds = createTasks(first, 10, TaskStatus.PENDING);
+        List<Long> secondIds = createTasks(second, 10, TaskStatus.PENDING);
+
+        assertThat(firstIds).allSatisfy(id -> assertThat(id).isBetween(1L, ShardRoutingDataSource.ID_RANGE - 1));
+        assertThat(secondIds).allSatisfy(id -> assertThat(id)
+                .isBetween(ShardRoutingDataSource.ID_RANGE + 1, 2 * ShardRoutingDataSource.ID_RANGE - 1));
+        assertThat(taskSequenceValue(1) - before).isIn(0L, 50L);
+    }
+
+    @Test
+    void getAllTasksMergesTheShardsInIdOrder() {
+        Long first = createUsuarioOnShard("merge", 0);
+        Long second = createUsuarioOnShard("merge", 1);
+        List<Long> taskIds = new ArrayList<>();
+        taskIds.addAll(createTasks(first, 3, TaskStatus.PENDING));
+        taskIds.addAll(createTasks(second, 3, TaskStatus.PENDING));
+
+        List<Long> allIds = taskService.getAllTasks().stream().map(TaskDto::getId).toList();
+
+        assertThat(allIds).containsAll(taskIds).isSorted();
+    }
+
+    @Test
+    void updateTaskToAUserOnAnotherShardIsRefused() {
+        Long owner = createUsuarioOnShard("cross-shard", 0);
+        Long other = createUsuarioOnShard("cross-shard", 1);
+        Long taskId = createTasks(owner, 1, TaskStatus.PENDING).get(0);
+
+        assertThatThrownBy(() -> taskService.updateTask(taskId,
+                new TaskInputDto("moved", "to another shard", TaskStatus.PENDING, other), null))
+                .isInstanceOf(CrossShardMoveExc.class);
+        assertThat(taskService.getTaskById(taskId).getTitle()).isEqualTo("sharded 0");
+    }
+
+    // A heavy user the rebalancer cannot move without flipping the imbalance, next to one it can.
+    @Test
+    void rebalanceKeepsAMovedUsersTasksAndArchiveReadable() {
+        Long heavy = createUsuarioOnShard("heavy", 0);
+        Long moved = createUsuarioOnShard("moved", 0);
+        createTasks(heavy, 200, TaskStatus.PENDING);
+        List<Long> taskIds = createTasks(moved, 40, TaskStatus.PENDING);
+        List<Long> archivedIds = createTasks(moved, 5, TaskStatus.COMPLETED);
+        taskArchiveService.archiveCompletedBefore(LocalDateTime.now().plusMinutes(1));
+
+        List<ShardMoveDto> moves = shardRebalanceService.rebalance(10, false);
+
+        assertThat(moves).anySatisfy(move -> {
+            assertThat(move.getUsuarioId()).isEqualTo(moved);
+            assertThat(move.getToShard()).isEqualTo(1);
+        });
+        assertThat(shardRoutingService.getShardOfUsuario(moved)).isEqualTo(1);
+        assertThat(countOnShard(0, "select count(*) from task where usuario_id = ?", moved)).isZero();
+        assertThat(usuarioService.getUsuarioById(moved).getId()).isEqualTo(moved);
+        assertThat(taskService.getCountByUsuarioId(moved)).isEqualTo(taskIds.size());
+        taskIds.forEach(taskId -> assertThat(taskService.getTaskById(taskId).getId()).isEqualTo(taskId));
+
+        List<Long> exported = new ArrayList<>();
+        taskArchiveService.exportArchivedTasks(moved, task -> exported.add(task.getId()));
+        assertThat(exported).containsExactlyInAnyOrderElementsOf(archivedIds);
+        assertThat(taskArchiveService.restoreTask(archivedIds.get(0)).getId()).isEqualTo(archivedIds.get(0));
+    }
+
+    // The move is done by hand under the barrier, the way the rebalancer does it, while a write for the user waits.
+    @Test
+    void writeForAUserBeingMovedWaitsAndFollowsTheUser() throws Exception {
+        Long usuarioId = createUsuarioOnShard("barrier", 0);
+        List<CompletableFuture<TaskDto>> writes = new ArrayList<>();
+
+        shardRoutingService.runWithShardBlocked(0, () -> {
+            CompletableFuture<TaskDto> write = CompletableFuture.supplyAsync(() -> taskService.createTask(
+                    new TaskInputDto("barrier", "written during a move", TaskStatus.PENDING, usuarioId)));
+            writes.add(write);
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+            assertThat(write).isNotDone();
+            Map<String, Object> usuario = shardRoutingService.callOnShard(0, () -> jdbcTemplate.queryForMap(
+                    "select id, username, password, email, version from usuario where id = ?", usuarioId));
+            shardRoutingService.runInTransactionOnShard(1, false, () -> jdbcTemplate.update(
+                    "insert into usuario (id, username, password, email, version) values (?, ?, ?, ?, ?)",
+                    usuario.get("ID"), usuario.get("USERNAME"), usuario.get("PASSWORD"), usuario.get("EMAIL"), usuario.get("VERSION")));
+            shardRoutingService.moveUsuario(usuarioId, 1);
+            shardRoutingService.runInTransactionOnShard(0, false,
+                    () -> jdbcTemplate.update("delete from usuario where id = ?", usuarioId));
+        });
+
+        TaskDto task = writes.get(0).get(10, TimeUnit.SECONDS);
+        assertThat(countOnShard(1, "select count(*) from task where id = ?", task.getId())).isEqualTo(1);
+        assertThat(countOnShard(0, "select count(*) from task where id = ?", task.getId())).isZero();
+    }
+
+    // A moved user keeps the ids of the shard they came from, a whole id range below the ones shard 1 hands out.
+    @Test
+    void deleteByStatusPagesThroughIdsAMoveLeftFarApart() {
+        Long heavy = createUsuarioOnShard("heavy", 0);
+        Long moved = createUsuarioOnShard("moved", 0);
+        createTasks(heavy, 200, TaskStatus.IN_PROGRESS);
+        createTasks(moved, 40, TaskStatus.IN_PROGRESS);
+        createTasks(createUsuarioOnShard("native", 1), 1, TaskStatus.IN_PROGRESS);
+        shardRebalanceService.rebalance(10, false);
+        assertThat(shardRoutingService.getShardOfUsuario(moved)).isEqualTo(1);
+
+        assertThat(taskService.deleteByTaskStatus(TaskStatus.IN_PROGRESS)).isGreaterThanOrEqualTo(241);
+
+        assertThat(taskService.getCountByUsuarioId(moved)).isZero();
+        assertThat(taskService.getExistsByTaskStatus(TaskStatus.IN_PROGRESS)).isFalse();
+    }
+
+    @Test
+    void deleteByEmailReportsTheDeletedTasks() {
+        Long usuarioId = createUsuarioOnShard("by-email", 1);
+        createTasks(usuarioId, 3, TaskStatus.PENDING);
+        String email = usuarioService.getUsuarioById(usuarioId).getEmail();
+
+        assertThat(usuarioService.deleteByEmail(email)).isEqualTo(1);
+
+        assertThat(applicationEvents.stream(TasksDeletedEvent.class)).singleElement().satisfies(event -> {
+            assertThat(event.getUsuarioIds()).containsExactly(usuarioId);
+            assertThat(event.getCount()).isEqualTo(3);
+        });
+        assertThat(taskService.getCountByUsuarioId(usuarioId)).isZero();
+    }
+}
@@ -0,0 +1,91 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.ArchivedTaskDto;
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.exceptions.TaskNotFoundExc;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:task-archive-tests")
+class TaskArchiveServiceTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    private Long usuarioId;
+
+    @BeforeEach
+    void createUsuario() {
+        String name = "archive-" + System.nanoTime();
+        usuarioId = usuarioService.createUsuario(new NewUsuarioDto(name, name + "@mail.com")).getId();
+    }
+
+    private TaskDto createTask(String title, TaskStatus taskStatus) {
+        return taskService.createTask(new TaskInputDto(title, "archive round trip", taskStatus, usuarioId));
+    }
+
+    private List<ArchivedTaskDto> exportArchived() {
+        List<ArchivedTaskDto> archived = new ArrayList<>();
+        taskArchiveService.exportArchivedTasks(usuarioId, archived::add);
+        return archived;
+    }
+
+    @Test
+    void completedTasksMoveToTheArchiveAndBack() {
+        TaskDto first = createTask("archived 1", TaskStatus.COMPLETED);
+        TaskDto second = createTask("archived 2", TaskStatus.COMPLETED);
+        TaskDto pending = createTask("kept", TaskStatus.PENDING);
+        long segmentsBefore = taskArchiveService.getStats().getSegments();
+
+        assertThat(taskArchiveService.archiveCompletedBefore(LocalDateTime.now().plusMinutes(1))).isGreaterThanOrEqualTo(2);
+
+        assertThatThrownBy(() -> taskService.getTaskById(first.getId())).isInstanceOf(TaskNotFoundExc.class);
+        assertThat(taskService.getTaskById(pending.getId()).getTitle()).isEqualTo("kept");
+        assertThat(exportArchived()).extracting(ArchivedTaskDto::getId).containsExactly(first.getId(), second.getId());
+        assertThat(taskArchiveService.getStats().getSegments()).isGreaterThan(segmentsBefore);
+
+        TaskDto restored = taskArchiveService.restoreTask(first.getId());
+        assertThat(restored.getTitle()).isEqualTo("archived 1");
+        assertThat(taskService.getTaskById(first.getId()).getTasksStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(exportArchived()).extracting(ArchivedTaskDto::getId).containsExactly(second.getId());
+
+        assertThat(taskArchiveService.restoreByUsuarioId(usuarioId)).extracting(TaskDto::getId).containsExactly(second.getId());
+        assertThat(exportArchived()).isEmpty();
+        assertThat(taskService.getTaskById(second.getId()).getDescription()).isEqualTo("archive round trip");
+    }
+
+    @Test
+    void recentlyCompletedTasksStay() {
+        TaskDto task = createTask("just done", TaskStatus.COMPLETED);
+
+        taskArchiveService.archiveCompletedBefore(LocalDateTime.now().minusDays(1));
+
+        assertThat(taskService.getTaskById(task.getId()).getTitle()).isEqualTo("just done");
+        assertThat(exportArchived()).isEmpty();
+    }
+
+    @Test
+    void restoringATaskThatIsNotArchivedFails() {
+        TaskDto task = createTask("never archived", TaskStatus.PENDING);
+
+        assertThatThrownBy(() -> taskArchiveService.restoreTask(task.getId())).isInstanceOf(TaskNotFoundExc.class);
+    }
+}
@@ -0,0 +1,131 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// A buffer of four events, so a handful of writes is enough to push a resume point out of it.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-feed-tests",
+        "todolist.feed.buffer-size=4"
+})
+@AutoConfigureMockMvc
+class TaskFeedServiceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    private Long usuarioId;
+
+    @BeforeEach
+    void createUsuario() {
+        String name = "feed-" + System.nanoTime();
+        usuarioId = usuarioService.createUsuario(new NewUsuarioDto(name, name + "@mail.com")).getId();
+    }
+
+    private void createTasks(int count) {
+        for (int i = 0; i < count; i++) {
+            taskService.createTask(new TaskInputDto("feed", "event " + i, TaskStatus.PENDING, usuarioId));
+        }
+    }
+
+    private MvcResult subscribe(Long lastEventId) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/tasks/stream").param("usuarioId", usuarioId.toString());
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    // Events are sent from another thread, so the stream is polled until it has what the test waits for.
+    private static String awaitStream(MvcResult result, Predicate<String> done) throws Exception {
+        String stream = "";
+        for (int i = 0; i < 100 && !done.test(stream); i++) {
+            Thread.sleep(50);
+            stream = result.getResponse().getContentAsString();
+        }
+        return stream;
+    }
+
+    private static List<Long> ids(String stream) {
+        return stream.lines().filter(line -> line.startsWith("id:")).map(line -> Long.valueOf(line.substring(3))).toList();
+    }
+
+    private static List<String> eventNames(String stream) {
+        return stream.lines().filter(line -> line.startsWith("event:")).map(line -> line.substring(6)).toList();
+    }
+
+    // Subscribes live and returns the id of the event of one new task.
+    private long lastEventId() throws Exception {
+        MvcResult live = subscribe(null);
+        createTasks(1);
+        List<Long> ids = ids(awaitStream(live, stream -> !ids(stream).isEmpty()));
+        assertThat(ids).hasSize(1);
+        return ids.get(0);
+    }
+
+    @Test
+    void liveSubscriberGetsTheChangesOfItsUser() throws Exception {
+        MvcResult live = subscribe(null);
+        createTasks(1);
+
+        String stream = awaitStream(live, s -> s.contains("event:CREATED"));
+
+        assertThat(eventNames(stream)).containsExactly("CREATED");
+        assertThat(stream).contains("\"usuarioId\":" + usuarioId);
+    }
+
+    @Test
+    void resumeReplaysOnlyTheEventsAfterLastEventId() throws Exception {
+        long lastEventId = lastEventId();
+        createTasks(2);
+
+        String stream = awaitStream(subscribe(lastEventId), s -> ids(s).size() == 2);
+
+        assertThat(ids(stream)).containsExactly(lastEventId + 1, lastEventId + 2);
+        assertThat(eventNames(stream)).containsExactly("CREATED", "CREATED");
+    }
+
+    @Test
+    void resumeFromAnEvictedEventStartsWithReset() throws Exception {
+        long lastEventId = lastEventId();
+        createTasks(5);
+
+        String stream = awaitStream(subscribe(lastEventId), s -> ids(s).size() == 4);
+
+        assertThat(eventNames(stream)).first().isEqualTo("RESET");
+        assertThat(ids(stream)).containsExactly(lastEventId + 2, lastEventId + 3, lastEventId + 4, lastEventId + 5);
+    }
+
+    // An id the feed has not reached yet was handed out before a restart started the sequence over.
+    @Test
+    void resumeFromAnIdAheadOfTheFeedStartsWithReset() throws Exception {
+        long lastEventId = lastEventId();
+
+        String stream = awaitStream(subscribe(lastEventId + 1000), s -> s.contains("event:RESET"));
+
+        assertThat(eventNames(stream)).containsExactly("RESET");
+        assertThat(ids(stream)).isEmpty();
+    }
+}
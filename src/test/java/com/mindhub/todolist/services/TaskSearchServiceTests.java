@@ -0,0 +1,89 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.dtos.TaskSearchResultDto;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:task-search-tests")
+class TaskSearchServiceTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    private Long usuarioId;
+
+    @BeforeEach
+    void createUsuario() {
+        String name = "search-" + System.nanoTime();
+        usuarioId = usuarioService.createUsuario(new NewUsuarioDto(name, name + "@mail.com")).getId();
+    }
+
+    private TaskDto createTask(String title, String description) {
+        return taskService.createTask(new TaskInputDto(title, description, TaskStatus.PENDING, usuarioId));
+    }
+
+    private static Long firstId(TaskSearchResultDto result) {
+        return result.getItems().get(0).getId();
+    }
+
+    @Test
+    void titleHitsRankAboveDescriptionHits() {
+        TaskDto inDescription = createTask("buy bread", "and a zorblax for the kitchen");
+        TaskDto inTitle = createTask("zorblax repair", "call the plumber");
+
+        TaskSearchResultDto result = taskSearchService.search("zorblax", 0, 10);
+
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getItems()).extracting(TaskDto::getId).containsExactly(inTitle.getId(), inDescription.getId());
+    }
+
+    @Test
+    void matchesWithoutAccentsInsideWordsAndOnEveryTerm() {
+        TaskDto task = createTask("Canción del quintaplón", "ensayar el estribillo");
+        createTask("quintaplón solo", "sin letra");
+
+        assertThat(firstId(taskSearchService.search("CANCION", 0, 10))).isEqualTo(task.getId());
+        assertThat(firstId(taskSearchService.search("intaplo", 0, 10))).isEqualTo(task.getId());
+        assertThat(taskSearchService.search("quintaplon estribillo", 0, 10).getItems())
+                .extracting(TaskDto::getId).containsExactly(task.getId());
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        TaskDto task = createTask("vexwold draft", "first version");
+
+        taskService.updateTask(task.getId(), new TaskInputDto("plunkett draft", "second version", TaskStatus.PENDING, usuarioId), null);
+        assertThat(taskSearchService.search("vexwold", 0, 10).getTotal()).isZero();
+        assertThat(firstId(taskSearchService.search("plunkett", 0, 10))).isEqualTo(task.getId());
+
+        taskService.deleteTask(task.getId());
+        assertThat(taskSearchService.search("plunkett", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void pagesThroughTheRankedHits() {
+        for (int i = 0; i < 5; i++) {
+            createTask("grintel " + i, "page " + i);
+        }
+
+        TaskSearchResultDto second = taskSearchService.search("grintel", 1, 2);
+
+        assertThat(second.getTotal()).isEqualTo(5);
+        assertThat(second.getItems()).hasSize(2);
+        assertThat(taskSearchService.search("grintel", 2, 2).getItems()).hasSize(1);
+    }
+}
@@ -0,0 +1,130 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.models.Task;
+import com.mindhub.todolist.models.Usuario;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.repositories.UsuarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The stats reconcile a status PATCH schedules would otherwise land in the next test's statement count.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "todolist.stats.stale-reconcile-delay=PT1H"
+})
+class TaskServiceQueryCountTests {
+
+    private static final int USERS = 10;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Usuario> seeded = new ArrayList<>();
+
+    private final List<Task> pendingTasks = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < USERS; i++) {
+            Usuario usuario = new Usuario("query-count-" + i, "secret", "query-count-" + i + "@mail.com");
+            Task pendingTask = new Task("query-count", "task of user " + i, TaskStatus.PENDING);
+            usuario.addTask(pendingTask);
+            pendingTasks.add(pendingTask);
+            usuario.addTask(new Task("query-count", "another task of user " + i, TaskStatus.IN_PROGRESS));
+            seeded.add(usuarioRepository.save(usuario));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private List<Long> pendingTaskIds() {
+        return pendingTasks.stream().map(Task::getId).toList();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // By id, so tasks whose version a test bumped are reloaded instead of merged from stale copies.
+        seeded.forEach(usuario -> usuarioRepository.deleteById(usuario.getId()));
+        seeded.clear();
+        pendingTasks.clear();
+    }
+
+    @Test
+    void getAllTasksRunsOneStatement() {
+        assertThat(taskService.getAllTasks()).hasSizeGreaterThanOrEqualTo(USERS * 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getFindByTaskStatusRunsOneStatement() {
+        assertThat(taskService.getFindByTaskStatus(TaskStatus.PENDING)).hasSizeGreaterThanOrEqualTo(USERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getfindByTitleOrderByIdAscRunsOneStatement() {
+        assertThat(taskService.getfindByTitleOrderByIdAsc("query-count")).hasSize(USERS * 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateTaskStatusRunsOneStatement() {
+        Long taskId = pendingTaskIds().get(0);
+        assertThat(taskService.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, TaskStatus.PENDING)).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        // The guard no longer matches.
+        assertThat(taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, TaskStatus.PENDING)).isZero();
+    }
+
+    @Test
+    void updateTasksStatusRunsOneStatement() {
+        assertThat(taskService.updateTasksStatus(pendingTaskIds(), TaskStatus.COMPLETED, null)).isEqualTo(USERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getTasksPageRunsOneStatement() {
+        assertThat(taskService.getTasksPage(null, USERS).getItems()).hasSize(USERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // The user check is answered by the user cache, so creating the task only inserts it.
+    @Test
+    void createTaskForACachedUserDoesNotQueryTheUser() {
+        Long usuarioId = seeded.get(0).getId();
+        usuarioService.getUsuarioById(usuarioId);
+        statistics.clear();
+
+        taskService.createTask(new TaskInputDto("query-count", "created for a cached user", TaskStatus.PENDING, usuarioId));
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.TaskDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.models.Task;
+import com.mindhub.todolist.models.Usuario;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.repositories.UsuarioRepository;
+import com.mindhub.todolist.services.implementations.TaskStatsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:task-stats-tests")
+class TaskStatsServiceTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TaskStatsServiceImpl taskStatsService;
+
+    private Long createUsuario() {
+        String name = "stats-" + System.nanoTime();
+        return usuarioService.createUsuario(new NewUsuarioDto(name, name + "@mail.com")).getId();
+    }
+
+    @Test
+    void countsFollowCreatesUpdatesAndDeletes() {
+        Long usuarioId = createUsuario();
+        long totalBefore = taskStatsService.getStats().getTotal();
+
+        TaskDto first = taskService.createTask(new TaskInputDto("stats", "first", TaskStatus.PENDING, usuarioId));
+        taskService.createTask(new TaskInputDto("stats", "second", TaskStatus.PENDING, usuarioId));
+        taskService.updateTask(first.getId(), new TaskInputDto("stats", "first", TaskStatus.COMPLETED, usuarioId), null);
+        assertThat(taskStatsService.getStatsByUsuarioId(usuarioId).getByStatus())
+                .containsEntry(TaskStatus.PENDING, 1L)
+                .containsEntry(TaskStatus.COMPLETED, 1L);
+
+        taskService.deleteTask(first.getId());
+        assertThat(taskStatsService.getStatsByUsuarioId(usuarioId).getTotal()).isEqualTo(1);
+        assertThat(taskStatsService.getStats().getTotal()).isEqualTo(totalBefore + 1);
+    }
+
+    // Rows saved through the repository publish no events; the next reconcile reads them from the database.
+    @Test
+    void reconcileCorrectsCountsTheEventsMissed() {
+        String name = "stats-unseen-" + System.nanoTime();
+        Usuario usuario = new Usuario(name, "secret", name + "@mail.com");
+        usuario.addTask(new Task("stats", "saved behind the service", TaskStatus.IN_PROGRESS));
+        usuario.addTask(new Task("stats", "saved behind the service", TaskStatus.IN_PROGRESS));
+        Long usuarioId = usuarioRepository.save(usuario).getId();
+        assertThat(taskStatsService.getStatsByUsuarioId(usuarioId).getTotal()).isZero();
+
+        taskStatsService.reconcile();
+
+        Map<TaskStatus, Long> byStatus = taskStatsService.getStatsByUsuarioId(usuarioId).getByStatus();
+        assertThat(byStatus).containsEntry(TaskStatus.IN_PROGRESS, 2L).containsEntry(TaskStatus.PENDING, 0L);
+    }
+}
@@ -0,0 +1,138 @@
+package com.mindhub.todolist.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindhub.todolist.dtos.IngestStatusDto;
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.exceptions.ExceptionHandlers;
+import com.mindhub.todolist.exceptions.IngestQueueFullExc;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.services.implementations.TaskWriteBehindServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:write-behind-tests",
+        "todolist.write-behind.queue-capacity=2",
+        "todolist.write-behind.max-delay=10ms"
+})
+@ActiveProfiles("write-behind")
+@AutoConfigureMockMvc
+class TaskWriteBehindTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private ExceptionHandlers exceptionHandlers;
+
+    private Long usuarioId;
+
+    @BeforeEach
+    void createUsuario() {
+        String name = "write-behind-" + System.nanoTime();
+        usuarioId = usuarioService.createUsuario(new NewUsuarioDto(name, name + "@mail.com")).getId();
+    }
+
+    @Test
+    void queuedTaskIsCreatedInTheBackground() throws Exception {
+        String body = objectMapper.writeValueAsString(new TaskInputDto("queued", "written behind", TaskStatus.PENDING, usuarioId));
+        JsonNode queued = objectMapper.readTree(mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andReturn().getResponse().getContentAsString());
+        assertThat(queued.get("state").asText()).isEqualTo("QUEUED");
+
+        String trackingId = queued.get("trackingId").asText();
+        JsonNode status = null;
+        for (int i = 0; i < 100; i++) {
+            status = objectMapper.readTree(mockMvc.perform(get("/api/tasks/ingest/" + trackingId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (!status.get("state").asText().equals("QUEUED")) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertThat(status.get("state").asText()).isEqualTo("CREATED");
+        assertThat(taskService.getTaskById(status.get("taskId").asLong()).getTitle()).isEqualTo("queued");
+    }
+
+    // A writer that was never started leaves the queue to fill up; starting it and flushing then drains it.
+    @Test
+    void fullQueueIsRefusedAndFlushWritesWhatIsLeft() throws Exception {
+        TaskWriteBehindServiceImpl writeBehind = new TaskWriteBehindServiceImpl(taskService, new SimpleMeterRegistry(),
+                2, 100, Duration.ofMillis(10), Duration.ofMillis(10), Duration.ofMinutes(10));
+        IngestStatusDto first = writeBehind.enqueue(new TaskInputDto("flushed 1", "left in the queue", TaskStatus.PENDING, usuarioId));
+        IngestStatusDto second = writeBehind.enqueue(new TaskInputDto("flushed 2", "left in the queue", TaskStatus.PENDING, usuarioId));
+        assertThat(first.getState()).isEqualTo(IngestStatusDto.State.QUEUED);
+
+        TaskInputDto overflow = new TaskInputDto("refused", "no room", TaskStatus.PENDING, usuarioId);
+        assertThatThrownBy(() -> writeBehind.enqueue(overflow)).isInstanceOf(IngestQueueFullExc.class);
+        ResponseEntity<String> response = exceptionHandlers.handleIngestQueueFullException(new IngestQueueFullExc("full"));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        writeBehind.start();
+        writeBehind.flush();
+        for (IngestStatusDto queued : new IngestStatusDto[]{first, second}) {
+            IngestStatusDto written = writeBehind.getStatus(queued.getTrackingId());
+            assertThat(written.getState()).isEqualTo(IngestStatusDto.State.CREATED);
+            assertThat(taskService.getTaskById(written.getTaskId())).isNotNull();
+        }
+    }
+
+    // Interrupted while waiting for a batch to fill: the writer writes the batch and the queue, then exits.
+    @Test
+    void interruptedWriterWritesWhatIsLeftAndExits() throws Exception {
+        TaskWriteBehindServiceImpl writeBehind = new TaskWriteBehindServiceImpl(taskService, new SimpleMeterRegistry(),
+                10, 100, Duration.ofMinutes(1), Duration.ofMillis(10), Duration.ofMinutes(10));
+        IngestStatusDto first = writeBehind.enqueue(new TaskInputDto("interrupted 1", "in the batch", TaskStatus.PENDING, usuarioId));
+        IngestStatusDto second = writeBehind.enqueue(new TaskInputDto("interrupted 2", "in the batch", TaskStatus.PENDING, usuarioId));
+        Set<Thread> before = Thread.getAllStackTraces().keySet();
+        writeBehind.start();
+        Thread writer = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("task-write-behind") && !before.contains(thread))
+                .findFirst().orElseThrow();
+
+        writer.interrupt();
+        writer.join(5_000);
+
+        assertThat(writer.isAlive()).isFalse();
+        for (IngestStatusDto queued : new IngestStatusDto[]{first, second}) {
+            assertThat(writeBehind.getStatus(queued.getTrackingId()).getState()).isEqualTo(IngestStatusDto.State.CREATED);
+        }
+        writeBehind.flush();
+    }
+}
@@ -0,0 +1,40 @@
+package com.mindhub.todolist.services.implementations;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+    private static final int CAPACITY = 100_000;
+
+    private static final double FPP = 0.01;
+
+    @Test
+    void neverReportsAValueThatWasPutAsMissing() {
+        BloomFilter filter = BloomFilter.create(CAPACITY, FPP);
+        for (int i = 0; i < CAPACITY; i++) {
+            filter.put("present-" + i);
+        }
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(filter.mightContain("present-" + i)).as("present-" + i).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearFppAtCapacity() {
+        BloomFilter filter = BloomFilter.create(CAPACITY, FPP);
+        for (int i = 0; i < CAPACITY; i++) {
+            filter.put("present-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < CAPACITY; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / CAPACITY;
+        assertThat(observed).isBetween(FPP / 2, FPP * 1.5);
+        assertThat(filter.expectedFpp()).isBetween(FPP / 2, FPP * 1.5);
+    }
+}
@@ -0,0 +1,81 @@
+package com.mindhub.todolist.services.implementations;
+
+import com.mindhub.todolist.dtos.NewUsuarioDto;
+import com.mindhub.todolist.dtos.TaskInputDto;
+import com.mindhub.todolist.events.UsuariosSavedEvent;
+import com.mindhub.todolist.models.enums.TaskStatus;
+import com.mindhub.todolist.repositories.UsuarioRepository;
+import com.mindhub.todolist.services.TaskArchiveService;
+import com.mindhub.todolist.services.TaskService;
+import com.mindhub.todolist.services.UsuarioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:existence-check-tests")
+class ExistenceCheckServiceTests {
+
+    @MockitoSpyBean
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ExistenceCheckServiceImpl existenceCheckService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    // The username is never stored, so the database says no either way: only a filter that kept it sends the
+    // check on to the database, where it counts as a false positive instead of a negative.
+    @Test
+    void valuesPutDuringARebuildSurviveIt() {
+        doAnswer(invocation -> {
+            existenceCheckService.onUsuariosSaved(new UsuariosSavedEvent(List.of("saved-during-rebuild")));
+            return Stream.of("kiara");
+        }).when(usuarioRepository).streamAllUsernames();
+        existenceCheckService.rebuild();
+
+        double falsePositives = falsePositives();
+        assertThat(existenceCheckService.existsByUsername("saved-during-rebuild")).isFalse();
+        assertThat(falsePositives()).isEqualTo(falsePositives + 1);
+    }
+
+    private double falsePositives() {
+        return meterRegistry.get("todolist.bloom.checks")
+                .tag("filter", "usernames")
+                .tag("result", "false_positive")
+                .counter()
+                .count();
+    }
+
+    // A rebuild while the task is archived leaves its title out of the filter; restoring has to put it back.
+    @Test
+    void restoredTitlesAreFoundAfterARebuildWithoutThem() {
+        Long usuarioId = usuarioService.createUsuario(new NewUsuarioDto("archive-owner", "archive-owner@mail.com")).getId();
+        Long taskId = taskService.createTask(new TaskInputDto("archived-then-restored", "done", TaskStatus.COMPLETED, usuarioId)).getId();
+        taskArchiveService.archiveCompletedBefore(LocalDateTime.now().plusMinutes(1));
+        existenceCheckService.rebuild();
+        assertThat(existenceCheckService.existsByTitle("archived-then-restored")).isFalse();
+
+        taskArchiveService.restoreTask(taskId);
+
+        assertThat(existenceCheckService.existsByTitle("archived-then-restored")).isTrue();
+    }
+}